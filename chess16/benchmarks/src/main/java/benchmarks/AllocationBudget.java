@@ -0,0 +1,176 @@
+package benchmarks;
+
+import pieces.Board;
+import pieces.Fen;
+import pieces.King;
+import pieces.Move;
+import pieces.MoveGenerator;
+import pieces.MoveList;
+import pieces.Piece;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntSupplier;
+
+/**
+ * AllocationBudget checks that the move pipeline stays within its allocation budget: each operation is run many
+ * times, the bytes the thread allocated are read from the JVM before and after, and the bytes per call are
+ * compared with the budget of the operation. It prints a line per operation and counts the ones that go over;
+ * AllocationBudgetTest fails the build on any of them, so mvn test checks every budget.
+ *
+ * Every budget is 0 bytes: checking, making and taking back a move, testing for check and reading a position
+ * should not allocate at all. An operation that has to allocate gets a budget above 0 in checkPipeline.
+ *
+ * Usage: java benchmarks.AllocationBudget
+ *
+ * prints the same lines outside the build and exits with status 1 if any operation is over budget.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class AllocationBudget {
+    /**
+     * calls made before measuring, so the code is compiled the way it runs in a game
+     */
+    private static final int WARMUP_CALLS = 200000;
+
+    /**
+     * calls measured per operation
+     */
+    private static final int MEASURED_CALLS = 200000;
+
+    /**
+     * the JVM's per-thread allocation counter
+     */
+    private final com.sun.management.ThreadMXBean threads;
+
+    /**
+     * sink for the results of the operations, so none are optimised away
+     */
+    private int sink;
+
+    /**
+     * number of operations over budget
+     */
+    private int failures;
+
+    /**
+     * AllocationBudget constructor
+     *
+     * @throws IllegalStateException if the JVM cannot count allocated bytes per thread
+     */
+    public AllocationBudget() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            throw new IllegalStateException("This JVM cannot count the bytes a thread allocates");
+        }
+        threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM cannot count the bytes a thread allocates");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * check measures one operation and compares it with its budget
+     *
+     * @param name name of the operation, as printed
+     * @param budget most bytes a call may allocate
+     * @param operation the operation; it must leave the position as it found it
+     */
+    public void check(String name, long budget, IntSupplier operation) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink += operation.getAsInt();
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            sink += operation.getAsInt();
+        }
+        long bytes = threads.getThreadAllocatedBytes(thread) - before;
+        double perCall = (double) bytes / MEASURED_CALLS;
+        // whole bytes only, so the few bytes reading the counter costs never fail an operation
+        boolean over = bytes / MEASURED_CALLS > budget;
+        if (over) {
+            failures++;
+        }
+        System.out.println(String.format("%-28s %10.2f B/call  budget %6d  %s", name, perCall, budget, over ? "OVER" : "ok"));
+    }
+
+    /**
+     * getFailures gets the number of operations found over budget so far
+     *
+     * @return number of operations
+     */
+    public int getFailures() {
+        return failures;
+    }
+
+    /**
+     * checkPipeline checks every operation of the move pipeline
+     *
+     * @return number of operations over budget
+     */
+    public int checkPipeline() {
+        Board board = Positions.load(Positions.KIWIPETE);
+        MoveList moves = new MoveList();
+
+        String text = "e5 f7";
+        int move = Move.parse(text);
+        Piece knight = board.getPiece(Move.from(move));
+        check("Move.parse", 0, () -> Move.parse(text));
+        check("Piece.resolveMove", 0, () -> knight.resolveMove(board, move));
+        check("Piece.validMove (text)", 0, () -> {
+            boolean valid = knight.validMove(board, text);
+            board.unmakeMove();
+            return valid ? 1 : 0;
+        });
+        check("Piece.validMove (encoded)", 0, () -> {
+            boolean valid = knight.validMove(board, move);
+            board.unmakeMove();
+            return valid ? 1 : 0;
+        });
+        check("MoveGenerator.isLegal", 0, () -> MoveGenerator.isLegal(board, knight.resolveMove(board, move)) ? 1 : 0);
+        check("make and unmake every move", 0, () -> {
+            int count = MoveGenerator.generate(board, moves);
+            for (int i = 0; i < count; i++) {
+                board.makeMove(moves.get(i));
+                board.unmakeMove();
+            }
+            return count;
+        });
+        check("MoveGenerator.generate", 0, () -> MoveGenerator.generate(board, moves));
+
+        Board check = Positions.load("4k3/8/8/8/Q7/8/8/K7 b - - 0 1");
+        Piece queen = check.getPiece(Positions.square("a4"));
+        King king = (King) check.getPiece(check.getKingSquare(false));
+        check("Piece.isKingInCheck", 0, () -> queen.isKingInCheck(check, Positions.square("a4")) ? 1 : 0);
+        check("King.isKingInCheck", 0, () -> king.isKingInCheck(check) ? 1 : 0);
+        check("Board.isInCheck", 0, () -> check.isInCheck(false) ? 1 : 0);
+        check("King.generateKeys", 0, () -> {
+            king.generateKeys(check);
+            return (int) check.getKingMap(false);
+        });
+
+        Board loaded = new Board();
+        check("Fen.load", 0, () -> {
+            Fen.load(loaded, Positions.MIDDLEGAME);
+            return loaded.getFullmoveNumber();
+        });
+
+        return failures;
+    }
+
+    /**
+     * main checks every operation of the move pipeline and exits with status 1 if any is over budget
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        int failures = new AllocationBudget().checkPipeline();
+        if (failures > 0) {
+            System.out.println(failures + " operation(s) over their allocation budget");
+            System.exit(1);
+        }
+    }
+}
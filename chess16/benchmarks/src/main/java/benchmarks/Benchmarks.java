@@ -0,0 +1,40 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Benchmarks runs the JMH benchmarks with the GC profiler always on, so every run reports the bytes allocated
+ * per operation (gc.alloc.rate.norm) next to the time. It takes the same command line as JMH itself, for
+ * example a benchmark name pattern, -f 1 for a quick run or -rf json -rff before.json to keep the numbers.
+ *
+ * Usage: java -jar benchmarks/target/benchmarks.jar [JMH options] [pattern]
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class Benchmarks {
+    /**
+     * main reads the JMH options and runs the matching benchmarks
+     *
+     * @param args JMH command line arguments
+     * @throws CommandLineOptionException if the arguments cannot be read
+     * @throws RunnerException if a benchmark fails
+     * @throws IOException if the help or the list of benchmarks cannot be printed
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp() || options.shouldList()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        new Runner(new OptionsBuilder().parent(options).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,115 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pieces.Board;
+import pieces.King;
+import pieces.MoveGenerator;
+import pieces.MoveList;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BoardBenchmark measures the work done on a whole board: copying it, building a king's map of safe squares,
+ * generating the legal moves and making and taking back every one of them.
+ *
+ * King.generateKeys builds the whole map with one attack lookup per square, which replaced stepping the king
+ * onto each square with simulateKingRadius, so generateKeys is what is measured for both.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BoardBenchmark {
+    /**
+     * which reference position to use
+     */
+    @Param({"kiwipete", "middlegame"})
+    public String position;
+
+    /**
+     * the position
+     */
+    private Board board;
+
+    /**
+     * the side to move's king
+     */
+    private King king;
+
+    /**
+     * reused list of moves
+     */
+    private final MoveList moves = new MoveList();
+
+    /**
+     * setUp sets up the position
+     */
+    @Setup
+    public void setUp() {
+        board = Positions.load(position.equals("kiwipete") ? Positions.KIWIPETE : Positions.MIDDLEGAME);
+        king = (King) board.getPiece(board.getKingSquare(board.isWhiteToMove()));
+    }
+
+    /**
+     * buildCopy copies the board
+     *
+     * @return the copy
+     */
+    @Benchmark
+    public Board buildCopy() {
+        return Board.buildCopy(board);
+    }
+
+    /**
+     * generateKeys builds the map of the squares around the king and what attacks them
+     *
+     * @return the squares in the map
+     */
+    @Benchmark
+    public long generateKeys() {
+        king.generateKeys(board);
+        return board.getKingMap(king.getColor());
+    }
+
+    /**
+     * generateMoves generates every legal move
+     *
+     * @return number of moves
+     */
+    @Benchmark
+    public int generateMoves() {
+        return MoveGenerator.generate(board, moves);
+    }
+
+    /**
+     * makeUnmake makes and takes back every legal move
+     *
+     * @param blackhole takes the keys so the moves are not optimised away
+     */
+    @Benchmark
+    public void makeUnmake(Blackhole blackhole) {
+        int count = MoveGenerator.generate(board, moves);
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves.get(i));
+            blackhole.consume(board.getKey());
+            board.unmakeMove();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pieces.Board;
+import pieces.King;
+import pieces.Piece;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CheckBenchmark measures the check tests: Piece.isKingInCheck for a piece of each type that gives check, which
+ * covers what each piece used to override, and King.isKingInCheck and Board.isInCheck for the king being
+ * checked.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CheckBenchmark {
+    /**
+     * which piece gives check, named by its type; a king cannot, so its position is a plain ending
+     */
+    @Param({"pawn", "knight", "bishop", "rook", "queen", "king"})
+    public String type;
+
+    /**
+     * position with the black king in check
+     */
+    private Board board;
+
+    /**
+     * white piece that gives check
+     */
+    private Piece piece;
+
+    /**
+     * square of that piece
+     */
+    private int square;
+
+    /**
+     * the black king
+     */
+    private King king;
+
+    /**
+     * setUp sets up a position where a white piece of the type checks the black king
+     */
+    @Setup
+    public void setUp() {
+        String fen;
+        String from;
+        switch (type) {
+            case "pawn": fen = "4k3/3P4/8/8/8/8/8/4K3 b - - 0 1"; from = "d7"; break;
+            case "knight": fen = "4k3/8/3N4/8/8/8/8/4K3 b - - 0 1"; from = "d6"; break;
+            case "bishop": fen = "4k3/8/8/1B6/8/8/8/4K3 b - - 0 1"; from = "b5"; break;
+            case "rook": fen = "4k3/8/8/8/4R3/8/8/K7 b - - 0 1"; from = "e4"; break;
+            case "queen": fen = "4k3/8/8/8/Q7/8/8/K7 b - - 0 1"; from = "a4"; break;
+            case "king": fen = "4k3/8/8/8/8/8/8/4K3 b - - 0 1"; from = "e1"; break;
+            default: throw new IllegalArgumentException("Unknown piece type " + type);
+        }
+        board = Positions.load(fen);
+        square = Positions.square(from);
+        piece = board.getPiece(square);
+        king = (King) board.getPiece(board.getKingSquare(false));
+    }
+
+    /**
+     * pieceGivesCheck tests whether the piece attacks the enemy king
+     *
+     * @return true if it does
+     */
+    @Benchmark
+    public boolean pieceGivesCheck() {
+        return piece.isKingInCheck(board, square);
+    }
+
+    /**
+     * kingIsInCheck tests whether the black king is in check through King
+     *
+     * @return true if it is
+     */
+    @Benchmark
+    public boolean kingIsInCheck() {
+        return king.isKingInCheck(board);
+    }
+
+    /**
+     * boardIsInCheck tests whether the black king is in check through Board
+     *
+     * @return true if it is
+     */
+    @Benchmark
+    public boolean boardIsInCheck() {
+        return board.isInCheck(false);
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import pieces.Board;
+import pieces.Move;
+
+/**
+ * Positions holds the fixed positions and moves every benchmark starts from, so numbers taken before and after
+ * a change measure exactly the same work.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+final class Positions {
+    /**
+     * a busy middlegame with castling, en passant chances, pins and captures for every piece type
+     */
+    static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    /**
+     * a quiet middlegame from a common opening
+     */
+    static final String MIDDLEGAME = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+
+    /**
+     * the opening of a game, as a player would type it into Chess.main
+     */
+    static final String[] GAME = {
+            "e2 e4", "e7 e5", "g1 f3", "b8 c6", "f1 b5", "a7 a6", "b5 a4", "g8 f6", "e1 g1", "f8 e7",
+            "f1 e1", "b7 b5", "a4 b3", "d7 d6", "c2 c3", "e8 g8", "h2 h3", "c6 a5", "b3 c2", "c7 c5"
+    };
+
+    /**
+     * Positions constructor, not used since everything is static
+     */
+    private Positions() {
+    }
+
+    /**
+     * load makes a board set up from a FEN
+     *
+     * @param fen position in FEN
+     * @return new Board object
+     */
+    static Board load(String fen) {
+        Board board = new Board();
+        board.setUpBoard(fen);
+        return board;
+    }
+
+    /**
+     * square reads a square name such as "e4"
+     *
+     * @param name name of the square
+     * @return square index
+     */
+    static int square(String name) {
+        return Move.parseSquare(name, 0);
+    }
+}
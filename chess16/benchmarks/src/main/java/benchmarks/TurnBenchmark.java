@@ -0,0 +1,106 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pieces.Board;
+import pieces.Move;
+import pieces.MoveGenerator;
+import pieces.MoveList;
+import pieces.Piece;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TurnBenchmark measures the work Chess.main does for each turn of a game, without the console: reading the
+ * typed move, checking it is the mover's piece, resolving and making it, testing that the mover's king is safe,
+ * looking for check on both kings and generating the replies to find checkmate and stalemate. It plays the
+ * opening in Positions.GAME and takes it back, and reports the time per turn.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TurnBenchmark {
+    /**
+     * the game is played on this board
+     */
+    private Board board;
+
+    /**
+     * reused list of replies
+     */
+    private final MoveList moves = new MoveList();
+
+    /**
+     * setUp sets up the starting position and checks the game can be played
+     */
+    @Setup
+    public void setUp() {
+        board = new Board();
+        board.setUpBoard();
+        if (playGame() != Positions.GAME.length) {
+            throw new IllegalStateException("The benchmark game has an illegal move");
+        }
+    }
+
+    /**
+     * turns plays the game one turn at a time and takes it back
+     *
+     * @return number of moves played
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public int turns() {
+        return playGame();
+    }
+
+    /**
+     * playGame plays every move of the game the way Chess.main handles a turn, then takes them all back
+     *
+     * @return number of moves played
+     */
+    private int playGame() {
+        int played = 0;
+        for (String line : Positions.GAME) {
+            int input = Move.parse(line);
+            Piece piece = board.getPiece(Move.from(input));
+            if (input == Move.NONE || piece == null || piece.getColor() != board.isWhiteToMove()) {
+                break;
+            }
+            int resolved = piece.resolveMove(board, input);
+            if (resolved == Move.NONE) {
+                break;
+            }
+            boolean white = board.isWhiteToMove();
+            board.makeMove(resolved);
+            if (board.isInCheck(white)) {
+                board.unmakeMove();
+                break;
+            }
+            played++;
+            boolean check = board.isInCheck(true) || board.isInCheck(false);
+            if (MoveGenerator.generate(board, moves) == 0 && check) {
+                break;
+            }
+        }
+        for (int i = 0; i < played; i++) {
+            board.unmakeMove();
+        }
+        return played;
+    }
+}
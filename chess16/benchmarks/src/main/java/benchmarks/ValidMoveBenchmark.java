@@ -0,0 +1,108 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pieces.Board;
+import pieces.Move;
+import pieces.Piece;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ValidMoveBenchmark measures Piece.validMove for each piece type on the kiwipete position, both from typed
+ * text as Chess.main gets it and from an encoded move. Each call makes the move, so it is taken back again
+ * after every call to keep the position fixed.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ValidMoveBenchmark {
+    /**
+     * which piece moves, named by its type
+     */
+    @Param({"pawn", "knight", "bishop", "rook", "queen", "king"})
+    public String type;
+
+    /**
+     * position the moves are played on
+     */
+    private Board board;
+
+    /**
+     * piece that moves
+     */
+    private Piece piece;
+
+    /**
+     * the move as typed
+     */
+    private String text;
+
+    /**
+     * the move encoded
+     */
+    private int move;
+
+    /**
+     * setUp sets up the position and picks the move of the piece type
+     */
+    @Setup
+    public void setUp() {
+        board = Positions.load(Positions.KIWIPETE);
+        switch (type) {
+            case "pawn": text = "a2 a4"; break;
+            case "knight": text = "e5 f7"; break;
+            case "bishop": text = "e2 a6"; break;
+            case "rook": text = "h1 f1"; break;
+            case "queen": text = "f3 f6"; break;
+            case "king": text = "e1 d1"; break;
+            default: throw new IllegalArgumentException("Unknown piece type " + type);
+        }
+        move = Move.parse(text);
+        piece = board.getPiece(Move.from(move));
+        if (!piece.validMove(board, move)) {
+            throw new IllegalStateException(text + " is not a valid move");
+        }
+        board.unmakeMove();
+    }
+
+    /**
+     * validMoveText checks and makes a typed move, then takes it back
+     *
+     * @return whether the move was valid
+     */
+    @Benchmark
+    public boolean validMoveText() {
+        boolean valid = piece.validMove(board, text);
+        board.unmakeMove();
+        return valid;
+    }
+
+    /**
+     * validMoveEncoded checks and makes an encoded move, then takes it back
+     *
+     * @return whether the move was valid
+     */
+    @Benchmark
+    public boolean validMoveEncoded() {
+        boolean valid = piece.validMove(board, move);
+        board.unmakeMove();
+        return valid;
+    }
+}
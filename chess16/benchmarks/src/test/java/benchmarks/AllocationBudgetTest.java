@@ -0,0 +1,22 @@
+package benchmarks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * AllocationBudgetTest fails the build when any step of the move pipeline allocates more than its budget
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+class AllocationBudgetTest {
+    /**
+     * pipelineStaysWithinBudget checks every operation of AllocationBudget
+     */
+    @Test
+    void pipelineStaysWithinBudget() {
+        assertEquals(0, new AllocationBudget().checkPipeline(), "operations over their allocation budget");
+    }
+}
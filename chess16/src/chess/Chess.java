@@ -1,9 +1,8 @@
 package chess;
 
+import pgn.San;
 import pieces.*;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Scanner;
 /**
  * Chess is the main class. This controls how gameplay flows.
@@ -13,9 +12,15 @@ import java.util.Scanner;
  */
 public class Chess {
     /**
-     * main method. This controls how gameplay will flow.
+     * main method. This controls how gameplay will flow. Started with the argument "uci" it speaks the UCI
+     * protocol instead, see Uci. Each phase of a turn is timed by TurnMetrics; typing "metrics" prints the
+     * counts and times so far.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws java.io.IOException {
+        if(args.length > 0 && args[0].equals("uci")){
+            Uci.main(args);
+            return;
+        }
 
         Scanner sn = new Scanner(System.in);  // reads input from user
         Board board = new Board();
@@ -25,6 +30,7 @@ public class Chess {
         boolean draw = false;
         boolean whiteCheck = false;
         boolean blackCheck = false;
+        MoveList moves = new MoveList(); // reused every turn to look for a legal move
         while(true){
            if(whiteMove){
                System.out.println("It is white's turn");
@@ -33,12 +39,16 @@ public class Chess {
                System.out.println("It is black's turn");
            }
            boolean legal = true;
-            generateAllMaps(board);
-            editMaps(board);
 
             String line = sn.nextLine();
+            long turnStart = TurnMetrics.start();
+            long phaseStart = turnStart;
             String[] arr = line.split(" ");
             String input1 = arr[0];
+            if(input1.equals("metrics")){
+                System.out.print(TurnMetrics.report());
+                continue;
+            }
             if(input1.equals("resign")){
                 if(whiteMove){
                     System.out.println("Black wins");
@@ -58,147 +68,71 @@ public class Chess {
                 continue;
             }
 
-            String input2 = arr[1];
-            String input = input1+" "+input2;
+            int input = Move.parse(line); // the only place a typed move is turned into an encoded one
+            if(input == Move.NONE){
+                input = San.resolve(board, input1); // moves can also be typed the way PGN writes them, such as "Nf3"
+            }
+            TurnMetrics.record(TurnMetrics.PARSE, phaseStart);
+            if(input == Move.NONE){
+                System.out.println("Illegal move, try again ");
+                continue;
+            }
             if(arr.length == 3){
                 if(arr[2].equals("draw?")){
                     draw = true;
                 }
             }
-            Piece piece = board.getPiece(input);
+            Piece piece = board.getPiece(Move.from(input));
 
             try{
 
-                if((whoIsPlaying(board, input).equals("White") && !whiteMove) || (whoIsPlaying(board, input).equals("Black") &&whiteMove)){
+                phaseStart = TurnMetrics.start();
+                boolean wrongTurn = (whoIsPlaying(board, input).equals("White") && !whiteMove) || (whoIsPlaying(board, input).equals("Black") &&whiteMove);
+                TurnMetrics.record(TurnMetrics.WHO_IS_PLAYING, phaseStart);
+                if(wrongTurn){
                     System.out.println("Illegal move, try again [it is not your turn]");
                     continue;
                 }
-                boolean whiteKingCheck = findWhiteKing(board).isKingInCheck(board);
-                boolean blackKingCheck = findBlackKing(board).isKingInCheck(board);
-
-                //If white king is in check, and player is white,
-                // simulate the next move and see if you're still in check
-                Board copy = Board.buildCopy(board);
-                if(whiteKingCheck && whiteMove){
-                    //First check if its a valid move.
-                    if(piece!=null){
-                        if(piece.validMove(copy, input)){
-                            //Is white king still in check?
-                            editMaps(copy);
-                            boolean stillInCheck = findWhiteKing(copy).isKingInCheck(copy);
-                            if(stillInCheck){
-                                System.out.println("Illegal move, try again ");
-                                legal = false;
-                            }
-                            else{
-                                piece.validMove(board, input);
-                            }
-                        }
-                        else {
-                            System.out.println("Illegal move, try again ");
-                            legal = false;
-                        }
-                    }
-                    else{
-                        System.out.println("Illegal move, try again ");
-                        legal = false;
-                    }
-                }
-                //If black king is in check and player is black
-                else if(blackKingCheck && !whiteMove){
-                    //First check if its a valid move.
-                    if(piece!=null){
-                        if(piece.validMove(copy, input)){
-                            //Is white king still in check?
-                            editMaps(copy);
-                            boolean stillInCheck = findBlackKing(copy).isKingInCheck(copy);
-                            if(stillInCheck){
-                                System.out.println("Illegal move, try again, try again");
-                                legal = false;
-                            }
-                            else{
-                                piece.validMove(board, input);
-                            }
-                        }
-                        else {
-                            System.out.println("Illegal move, try again ");
-                            legal = false;
-                        }
-                    }
-                    else{
-                        System.out.println("Illegal move, try again ");
-                        legal = false;
-                    }
+                //Make the move in place and see if the player's own king is left in check.
+                //If it is, the move is taken back, so no copy of the board is needed.
+                phaseStart = TurnMetrics.start();
+                int resolved = piece!=null ? piece.resolveMove(board, input) : Move.NONE;
+                if(resolved == Move.NONE){
+                    System.out.println("Illegal move, try again ");
+                    legal = false;
                 }
-                //Else, it's a normal move where you're putting an opposing player in check/playing normally
                 else{
-                    if(piece!=null){
-                        if(piece.validMove(copy, input)){
-                            if((whiteMove && findWhiteKing(copy).isKingInCheck(copy)) || (!whiteMove && findBlackKing(copy).isKingInCheck(copy))){
-                                System.out.println("Illegal move, try again ");
-                                legal = false;
-                            }
-                            else piece.validMove(board, input);
-                        }
-                        else{
-                            System.out.println("Illegal move, try again ");
-                            legal = false;
-                        }
-                    }
-                    else {
+                    board.makeMove(resolved);
+                    boolean stillInCheck = board.isInCheck(whiteMove);
+                    if(stillInCheck){
+                        board.unmakeMove();
                         System.out.println("Illegal move, try again ");
                         legal = false;
                     }
                 }
+                TurnMetrics.record(TurnMetrics.VALIDATE, phaseStart);
                 if(legal) {
                     whiteMove = !whiteMove;
                 }
-                generateAllMaps(board);
-                editMaps(board);
-                findBlackKing(board).simulateKingRadius(board);
-                findWhiteKing(board).simulateKingRadius(board);
-                /*
-                System.out.println("White map: " +findWhiteKing(board).map);
-                System.out.println("Black map: "+findBlackKing(board).map);
-                */
-
-                //Find checks and checkmate
-                HashMap<ArrayList<Integer>, Piece> whiteMap = findWhiteKing(board).map;
-                HashMap<ArrayList<Integer>, Piece> blackMap = findBlackKing(board).map;
-                 whiteCheck = whiteMap.get(getLocation(findWhiteKing(board), board)) != null;
-                 blackCheck = blackMap.get(getLocation(findBlackKing(board), board)) != null;
-                boolean blackCheckMate = true;
-                boolean whiteCheckMate = true;
-                for(ArrayList<Integer> list : whiteMap.keySet()){
-                    whiteCheckMate = whiteCheckMate & whiteMap.get(list)!=null;
-                }
-                for(ArrayList<Integer> list : blackMap.keySet()){
-                    blackCheckMate = blackCheckMate & blackMap.get(list)!=null;
-                }
-
-                if(whiteCheckMate || blackCheckMate){
-                    if(whiteCheckMate){
-                        for(Piece pieceInMap : whiteMap.values()){
-                            whiteCheckMate = whiteCheckMate & !pieceInMap.canThisPieceDie(board);
-                        }
-                        if(whiteCheckMate){
-                            System.out.println("Checkmate");
-                            System.out.println("Black wins");
-                            board.printBoard();
-                            break;
-                        }
+                //Find checks, checkmate and stalemate: the game is over when the side to move has no legal move
+                phaseStart = TurnMetrics.start();
+                whiteCheck = board.isInCheck(true);
+                blackCheck = board.isInCheck(false);
+                TurnMetrics.record(TurnMetrics.CHECK_DETECTION, phaseStart);
+                phaseStart = TurnMetrics.start();
+                int replies = MoveGenerator.generate(board, moves);
+                TurnMetrics.record(TurnMetrics.MATE_DETECTION, phaseStart);
+                if(replies == 0){
+                    if(whiteCheck || blackCheck){
+                        System.out.println("Checkmate");
+                        System.out.println(board.isWhiteToMove() ? "Black wins" : "White wins");
                     }
-                    if(blackCheckMate){
-                        for(Piece pieceInMap : blackMap.values()){
-                            blackCheckMate = blackCheckMate & !pieceInMap.canThisPieceDie(board);
-                        }
-                        if(blackCheckMate){
-                            System.out.println("Checkmate");
-                            System.out.println("White wins");
-                            board.printBoard();
-                            break;
-                        }
+                    else{
+                        System.out.println("Stalemate");
+                        System.out.println("draw");
                     }
+                    board.printBoard();
+                    break;
                 }
 
 
@@ -207,103 +141,27 @@ public class Chess {
                 System.out.println("Illegal move, try again ");
             }
 
+            phaseStart = TurnMetrics.start();
             board.printBoard();
+            TurnMetrics.record(TurnMetrics.PRINT_BOARD, phaseStart);
+            TurnMetrics.record(TurnMetrics.TURN, turnStart);
             if(whiteCheck || blackCheck){
                 System.out.println("Check");
             }
         }
     }
-    /**
-     * editMaps populates a king's hashmap to check to see if the square it's on and squares around it are able to be occupied.
-     * @param board Board object where the game is being played on
-     */
-    private static void editMaps(Board board){
-        for(int i =0; i<board.getBoard().length; i++){
-            for(int j =0; j<board.getBoard()[i].length; j++){
-                if(board.getBoard()[i][j]!=null)
-                    board.getBoard()[i][j].isKingInCheck(board);
-            }
-        }
-    }
-    /**
-     * findBlackKing Looks for the black king on the chess board
-     * @param board Board object where the game is being played on
-     * @return Black King object.
-     */
-    private static King findBlackKing(Board board){
-        for(int i =0; i<board.getBoard().length; i++){
-            for(int j=0; j<board.getBoard()[i].length; j++){
-                if(board.getBoard()[i][j]!=null && board.getBoard()[i][j] instanceof King &&board.getBoard()[i][j].getColor()==false){
-                    return (King)board.getBoard()[i][j];
-                }
-            }
-        }
-        return null;
-    }
-    /**
-     * findWhiteKing Looks for the white king on the chess board
-     * @param board Board object where the game is being played on
-     * @return White King object.
-     */
-    private static King findWhiteKing(Board board){
-        for(int i =0; i<board.getBoard().length; i++){
-            for(int j=0; j<board.getBoard()[i].length; j++){
-                if(board.getBoard()[i][j]!=null && board.getBoard()[i][j] instanceof King &&board.getBoard()[i][j].getColor()){
-                    return (King)board.getBoard()[i][j];
-                }
-            }
-        }
-        return null;
-    }
-    /**
-     * generateAllMaps Creates initial hashmaps for king to see what surrounding squares can be occupied. editMaps() must be called consecutively.
-     * @param board Board object where the game is being played on
-     */
-    private static void generateAllMaps(Board board){
-        for(int i =0; i<board.getBoard().length; i++){
-            for(int j=0; j<board.getBoard().length; j++){
-                if(board.getBoard()[i][j] instanceof King){
-                    King king = (King)(board.getBoard()[i][j]);
-                    king.generateKeys(board);
-                }
-            }
-        }
-    }
-    /**
-     * getLocation Returns an ArrayList consisting of the row and column of a piece.
-     * @param board Board object where the game is being played on
-     * @param piece Piece you're looking to find location for.
-     * @return ArrayList consisting of row, column.
-     */
-    private static ArrayList<Integer> getLocation(Piece piece, Board board){
-        ArrayList<Integer> list = new ArrayList<>();
-        for(int i =0; i<board.getBoard().length; i++){
-            for(int j =0; j<board.getBoard()[i].length; j++){
-                if(board.getBoard()[i][j] == piece){
-                    list.add(i);
-                    list.add(j);
-                }
-            }
-        }
-        return list;
-    }
     /**
      * whoIsPlaying Looks at the inputted move and returns the player color.
      * @param board Board object where the game is being played on
-     * @param move The move of the user.
+     * @param move The encoded move of the user.
      * @return String (Black/White) of who's playing
      */
-    private static String whoIsPlaying(Board board, String move){
-        String[] startEnd = move.split(" ");
-        String start = startEnd[0];
-        String end = startEnd[1];
-        Pawn forMap = new Pawn("", true);
-        int fileStart = forMap.columnMappings.get(start.charAt(0));
-        int rankStart = forMap.rowMappings.get(Integer.parseInt(start.charAt(1)+"")) ;
-        if(board.getBoard()[rankStart][fileStart]!=null && board.getBoard()[rankStart][fileStart].getColor()){
+    private static String whoIsPlaying(Board board, int move){
+        Piece piece = board.getPiece(Move.from(move));
+        if(piece!=null && piece.getColor()){
             return "White";
         }
-        else if(board.getBoard()[rankStart][fileStart]!=null && !board.getBoard()[rankStart][fileStart].getColor()){
+        else if(piece!=null && !piece.getColor()){
             return "Black";
         }
         else return "Error";
@@ -0,0 +1,232 @@
+package chess;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TurnMetrics counts and times the phases of each turn of the console game, so where a turn spends its time can
+ * be read off a running game without attaching a profiler. Each phase keeps a call count, a total time and a
+ * histogram of its times in power-of-two buckets of nanoseconds, all in LongAdders so recording from any thread
+ * costs a few uncontended increments. report prints them; the game prints it on the command "metrics".
+ *
+ * While a Flight Recorder recording is running with the chess16.TurnPhase event enabled, every phase is also
+ * committed as a TurnPhaseEvent. With no recording the event is never committed, so the cost of a phase is two
+ * calls to System.nanoTime and the increments.
+ *
+ * Usage:
+ *     long start = TurnMetrics.start();
+ *     ... the phase ...
+ *     TurnMetrics.record(TurnMetrics.VALIDATE, start);
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public final class TurnMetrics {
+    /**
+     * phase: splitting the typed line and reading the move
+     */
+    public static final int PARSE = 0;
+
+    /**
+     * phase: finding whose piece is being moved
+     */
+    public static final int WHO_IS_PLAYING = 1;
+
+    /**
+     * phase: checking the move, making it and testing that the mover's king is safe
+     */
+    public static final int VALIDATE = 2;
+
+    /**
+     * phase: testing both kings for check
+     */
+    public static final int CHECK_DETECTION = 3;
+
+    /**
+     * phase: generating the replies to find checkmate and stalemate
+     */
+    public static final int MATE_DETECTION = 4;
+
+    /**
+     * phase: printing the board
+     */
+    public static final int PRINT_BOARD = 5;
+
+    /**
+     * the whole turn, from the typed line to the printed board, without the wait for input
+     */
+    public static final int TURN = 6;
+
+    /**
+     * name of each phase, as reported
+     */
+    private static final String[] NAMES = {"parse", "whoIsPlaying", "validate", "checkDetection", "mateDetection",
+            "printBoard", "turn"};
+
+    /**
+     * number of histogram buckets; bucket b holds times from 2^b up to 2^(b+1) nanoseconds, the last one
+     * everything longer
+     */
+    private static final int BUCKETS = 40;
+
+    /**
+     * calls of each phase
+     */
+    private static final LongAdder[] COUNTS = adders(NAMES.length);
+
+    /**
+     * total nanoseconds of each phase
+     */
+    private static final LongAdder[] TOTALS = adders(NAMES.length);
+
+    /**
+     * histogram of each phase, indexed by phase * BUCKETS + bucket
+     */
+    private static final LongAdder[] HISTOGRAMS = adders(NAMES.length * BUCKETS);
+
+    /**
+     * TurnMetrics constructor, not used since everything is static
+     */
+    private TurnMetrics() {
+    }
+
+    /**
+     * adders makes an array of new LongAdders
+     *
+     * @param size length of the array
+     * @return the array
+     */
+    private static LongAdder[] adders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * start marks the start of a phase
+     *
+     * @return the time to pass to record
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * record ends a phase: counts it, adds its time to the histogram and commits a TurnPhaseEvent if one is
+     * being recorded
+     *
+     * @param phase one of the phase constants
+     * @param start what start returned when the phase began
+     */
+    public static void record(int phase, long start) {
+        long nanos = System.nanoTime() - start;
+        COUNTS[phase].increment();
+        TOTALS[phase].add(nanos);
+        HISTOGRAMS[phase * BUCKETS + bucket(nanos)].increment();
+
+        TurnPhaseEvent event = new TurnPhaseEvent();
+        if (event.shouldCommit()) {
+            event.phase = NAMES[phase];
+            event.nanos = nanos;
+            event.turn = COUNTS[TURN].sum() + (phase == TURN ? 0 : 1);
+            event.commit();
+        }
+    }
+
+    /**
+     * bucket finds the histogram bucket of a time
+     *
+     * @param nanos time in nanoseconds
+     * @return bucket index
+     */
+    private static int bucket(long nanos) {
+        return Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(nanos | 1));
+    }
+
+    /**
+     * getCount gets the number of times a phase was recorded
+     *
+     * @param phase one of the phase constants
+     * @return number of calls
+     */
+    public static long getCount(int phase) {
+        return COUNTS[phase].sum();
+    }
+
+    /**
+     * getTotalNanos gets the total time spent in a phase
+     *
+     * @param phase one of the phase constants
+     * @return nanoseconds
+     */
+    public static long getTotalNanos(int phase) {
+        return TOTALS[phase].sum();
+    }
+
+    /**
+     * getHistogram gets the histogram of a phase
+     *
+     * @param phase one of the phase constants
+     * @return calls per bucket; bucket b counts times from 2^b up to 2^(b+1) nanoseconds
+     */
+    public static long[] getHistogram(int phase) {
+        long[] histogram = new long[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            histogram[b] = HISTOGRAMS[phase * BUCKETS + b].sum();
+        }
+        return histogram;
+    }
+
+    /**
+     * percentile estimates a percentile of a phase's times from its histogram
+     *
+     * @param phase one of the phase constants
+     * @param fraction the percentile as a fraction, such as 0.99
+     * @return upper bound of the bucket the percentile falls in, in nanoseconds, or 0 with no calls
+     */
+    public static long percentile(int phase, double fraction) {
+        long[] histogram = getHistogram(phase);
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram[b];
+            if (seen > 0 && seen >= Math.ceil(total * fraction)) {
+                return 1L << (b + 1);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * reset sets every count, total and histogram back to zero
+     */
+    public static void reset() {
+        for (LongAdder[] adders : new LongAdder[][] {COUNTS, TOTALS, HISTOGRAMS}) {
+            for (LongAdder adder : adders) {
+                adder.reset();
+            }
+        }
+    }
+
+    /**
+     * report writes a line per phase with its calls, mean time and estimated median and 99th percentile
+     *
+     * @return the report
+     */
+    public static String report() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%-16s %10s %12s %12s %12s%n", "phase", "calls", "mean us", "p50 us", "p99 us"));
+        for (int phase = 0; phase < NAMES.length; phase++) {
+            long count = getCount(phase);
+            double mean = count > 0 ? getTotalNanos(phase) / 1000.0 / count : 0;
+            text.append(String.format("%-16s %10d %12.1f %12.1f %12.1f%n", NAMES[phase], count, mean,
+                    percentile(phase, 0.5) / 1000.0, percentile(phase, 0.99) / 1000.0));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package chess;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * TurnPhaseEvent is the Flight Recorder event for one phase of a turn of the console game, such as validating
+ * the move or printing the board. TurnMetrics commits one per phase while a recording with the event enabled is
+ * running, for example with java -XX:StartFlightRecording ... chess.Chess; otherwise none is made.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+@Name("chess16.TurnPhase")
+@Label("Turn Phase")
+@Category("Chess")
+@Description("One phase of a turn of the console game")
+@StackTrace(false)
+class TurnPhaseEvent extends Event {
+    /**
+     * name of the phase, see TurnMetrics
+     */
+    @Label("Phase")
+    String phase;
+
+    /**
+     * how long the phase took
+     */
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long nanos;
+
+    /**
+     * number of the turn the phase was part of, counting from 1
+     */
+    @Label("Turn")
+    long turn;
+}
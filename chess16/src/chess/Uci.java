@@ -0,0 +1,482 @@
+package chess;
+
+import pieces.Board;
+import pieces.Fen;
+import pieces.Move;
+import pieces.MoveGenerator;
+import pieces.MoveList;
+import search.ParallelSearch;
+import search.Search;
+import search.SearchLimits;
+import search.SearchResult;
+import search.TranspositionTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uci speaks the Universal Chess Interface, so the engine can be run by chess GUIs, tournament managers and
+ * match runners instead of the console game in Chess. The thread reading commands never searches: a search runs
+ * on its own thread, so stop, ponderhit and isready are answered while it runs.
+ *
+ * Supported commands: uci, isready, setoption (Hash, Threads, Clear Hash), ucinewgame, position startpos|fen ...
+ * [moves ...], go [wtime btime winc binc movestogo movetime depth infinite ponder], stop, ponderhit, quit.
+ *
+ * Usage: java chess.Uci, or java chess.Chess uci
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class Uci {
+    /**
+     * time kept back on the clock for communication delays, in milliseconds
+     */
+    private static final long MOVE_OVERHEAD = 50;
+
+    /**
+     * moves the remaining time is spread over when the GUI does not say how many are left
+     */
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+
+    /**
+     * where responses are written
+     */
+    private final PrintStream out;
+
+    /**
+     * position set up by the last position command
+     */
+    private final Board board = new Board();
+
+    /**
+     * stops a search when its time is up after a ponderhit
+     */
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "uci-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * transposition table size in MB, from the Hash option
+     */
+    private int hashMegabytes = 64;
+
+    /**
+     * number of search threads, from the Threads option
+     */
+    private int threads = 1;
+
+    /**
+     * the search, made when first needed and again when an option changes it
+     */
+    private ParallelSearch search;
+
+    /**
+     * thread running the current search, or null
+     */
+    private Thread searchThread;
+
+    /**
+     * counted down when the bestmove of an infinite or ponder search may be sent
+     */
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    /**
+     * pending stop of a search that left pondering, or null
+     */
+    private ScheduledFuture<?> ponderStop;
+
+    /**
+     * time the current ponder search gets once the opponent plays the expected move, 0 for no limit
+     */
+    private volatile long ponderTime;
+
+    /**
+     * Uci constructor
+     *
+     * @param out where responses are written
+     */
+    public Uci(PrintStream out) {
+        this.out = out;
+        board.setUpBoard(Fen.START);
+    }
+
+    /**
+     * main runs the engine on standard input and output until quit or end of input
+     *
+     * @param args ignored
+     * @throws IOException if standard input cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        new Uci(System.out).run(new BufferedReader(new InputStreamReader(System.in)));
+    }
+
+    /**
+     * run reads and carries out commands until quit or end of input
+     *
+     * @param in where commands are read from, one per line
+     * @throws IOException if the input cannot be read
+     */
+    public void run(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!execute(line.trim())) {
+                break;
+            }
+        }
+        stopSearch();
+        if (search != null) {
+            search.shutdown();
+        }
+        timer.shutdownNow();
+    }
+
+    /**
+     * execute carries out one command
+     *
+     * @param line the command line
+     * @return false on quit
+     */
+    boolean execute(String line) {
+        String[] tokens = line.split("\\s+");
+        switch (tokens[0]) {
+            case "":
+                break;
+            case "uci":
+                out.println("id name chess16");
+                out.println("id author Prathik Lolla and Khush Tated");
+                out.println("option name Hash type spin default 64 min 1 max " + TranspositionTable.MAX_MEGABYTES);
+                out.println("option name Threads type spin default 1 min 1 max 512");
+                out.println("option name Clear Hash type button");
+                out.println("option name Ponder type check default false");
+                out.println("uciok");
+                break;
+            case "isready":
+                engine();
+                out.println("readyok");
+                break;
+            case "setoption":
+                setOption(tokens);
+                break;
+            case "ucinewgame":
+                waitForSearch();
+                engine().getTable().clear();
+                break;
+            case "position":
+                waitForSearch();
+                position(tokens);
+                break;
+            case "go":
+                waitForSearch();
+                try {
+                    go(tokens);
+                }
+                catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    out.println("info string Bad go command: " + line);
+                }
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "ponderhit":
+                ponderHit();
+                break;
+            case "quit":
+                return false;
+            case "debug":
+            case "register":
+                break;
+            default:
+                out.println("info string Unknown command: " + line);
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * setOption changes an engine option: "setoption name NAME [value VALUE]"
+     *
+     * @param tokens the command split at spaces
+     */
+    private void setOption(String[] tokens) {
+        StringBuilder name = new StringBuilder();
+        String value = null;
+        for (int i = 2; i < tokens.length; i++) {
+            if (tokens[i].equals("value")) {
+                value = i + 1 < tokens.length ? tokens[i + 1] : "";
+                break;
+            }
+            name.append(name.length() > 0 ? " " : "").append(tokens[i]);
+        }
+        waitForSearch();
+        try {
+            switch (name.toString().toLowerCase()) {
+                case "hash":
+                    hashMegabytes = Math.max(1, Math.min(TranspositionTable.MAX_MEGABYTES, Integer.parseInt(value)));
+                    replaceEngine();
+                    break;
+                case "threads":
+                    threads = Math.max(1, Integer.parseInt(value));
+                    replaceEngine();
+                    break;
+                case "clear hash":
+                    engine().getTable().clear();
+                    break;
+                case "ponder":
+                    break;
+                default:
+                    out.println("info string Unknown option: " + name);
+                    break;
+            }
+        }
+        catch (NumberFormatException | NullPointerException e) {
+            out.println("info string Bad value for option " + name);
+        }
+    }
+
+    /**
+     * position sets up a position: "position startpos|fen FEN [moves MOVE...]"
+     *
+     * @param tokens the command split at spaces
+     */
+    private void position(String[] tokens) {
+        int i = 1;
+        if (i < tokens.length && tokens[i].equals("startpos")) {
+            board.setUpBoard(Fen.START);
+            i++;
+        }
+        else if (i < tokens.length && tokens[i].equals("fen")) {
+            StringBuilder fen = new StringBuilder();
+            for (i++; i < tokens.length && !tokens[i].equals("moves"); i++) {
+                fen.append(tokens[i]).append(' ');
+            }
+            try {
+                Fen.load(board, fen);
+            }
+            catch (IllegalArgumentException e) {
+                out.println("info string " + e.getMessage());
+                board.setUpBoard(Fen.START);
+                return;
+            }
+        }
+        if (i < tokens.length && tokens[i].equals("moves")) {
+            MoveList moves = new MoveList();
+            for (i++; i < tokens.length; i++) {
+                int move = findMove(tokens[i], moves);
+                if (move == Move.NONE) {
+                    out.println("info string Illegal move: " + tokens[i]);
+                    return;
+                }
+                board.makeMove(move);
+            }
+        }
+    }
+
+    /**
+     * findMove looks up a move in long algebraic form among the legal moves of the current position
+     *
+     * @param text move such as "e2e4" or "e7e8q"
+     * @param moves scratch list for the legal moves
+     * @return the legal move with its flags, or Move.NONE if there is no such legal move
+     */
+    private int findMove(String text, MoveList moves) {
+        int typed = Move.parse(text);
+        if (typed == Move.NONE) {
+            return Move.NONE;
+        }
+        int count = MoveGenerator.generate(board, moves);
+        for (int i = 0; i < count; i++) {
+            int move = moves.get(i);
+            if (Move.from(move) == Move.from(typed) && Move.to(move) == Move.to(typed)
+                    && Move.promotion(move) == Move.promotion(typed)) {
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * go starts a search of the current position on the search thread
+     *
+     * @param tokens the command split at spaces
+     */
+    private void go(String[] tokens) {
+        long whiteTime = -1;
+        long blackTime = -1;
+        long whiteIncrement = 0;
+        long blackIncrement = 0;
+        int movesToGo = 0;
+        long moveTime = 0;
+        int depth = Search.MAX_PLY;
+        boolean infinite = false;
+        boolean ponder = false;
+        for (int i = 1; i < tokens.length; i++) {
+            switch (tokens[i]) {
+                case "wtime": whiteTime = Long.parseLong(tokens[++i]); break;
+                case "btime": blackTime = Long.parseLong(tokens[++i]); break;
+                case "winc": whiteIncrement = Long.parseLong(tokens[++i]); break;
+                case "binc": blackIncrement = Long.parseLong(tokens[++i]); break;
+                case "movestogo": movesToGo = Integer.parseInt(tokens[++i]); break;
+                case "movetime": moveTime = Long.parseLong(tokens[++i]); break;
+                case "depth": depth = Integer.parseInt(tokens[++i]); break;
+                case "infinite": infinite = true; break;
+                case "ponder": ponder = true; break;
+                default: break;
+            }
+        }
+        boolean white = board.isWhiteToMove();
+        long clock = white ? whiteTime : blackTime;
+        long allotted = moveTime;
+        if (allotted == 0 && clock >= 0) {
+            allotted = allot(clock, white ? whiteIncrement : blackIncrement, movesToGo);
+        }
+        // an infinite or ponder search only sends its move once told to
+        release = new CountDownLatch(infinite || ponder ? 1 : 0);
+        ponderTime = ponder ? allotted : 0;
+        SearchLimits limits = new SearchLimits(depth, infinite || ponder ? 0 : allotted);
+
+        ParallelSearch engine = engine();
+        // cleared here rather than on the search thread, so a stop that comes right after go is not wiped out
+        engine.prepare();
+        long start = System.currentTimeMillis();
+        engine.setListener(result -> out.println(info(result, engine, System.currentTimeMillis() - start)));
+        searchThread = new Thread(() -> {
+            // the GUI waits for a bestmove whatever happens, so a failed search still answers with the null move
+            String bestMove = "bestmove 0000";
+            try {
+                SearchResult result = engine.search(board, limits);
+                int[] pv = result.getPv();
+                bestMove = "bestmove " + Move.toUci(result.getBestMove())
+                        + (pv.length > 1 ? " ponder " + Move.toUci(pv[1]) : "");
+            }
+            catch (RuntimeException e) {
+                out.println("info string Search failed: " + e);
+            }
+            try {
+                release.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.println(bestMove);
+        }, "uci-search");
+        searchThread.start();
+    }
+
+    /**
+     * allot decides how long to think from the clock
+     *
+     * @param clock time left in milliseconds
+     * @param increment time added per move in milliseconds
+     * @param movesToGo moves until the next time control, 0 if the whole game is left
+     * @return milliseconds to think, at least 1
+     */
+    static long allot(long clock, long increment, int movesToGo) {
+        long share = clock / (movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO) + increment * 3 / 4;
+        return Math.max(1, Math.min(share, clock - MOVE_OVERHEAD));
+    }
+
+    /**
+     * ponderHit turns a ponder search into a normal one: the opponent played the expected move, so the clock runs
+     * and the search gets the time it would have had
+     */
+    private void ponderHit() {
+        ParallelSearch engine = search;
+        long time = ponderTime;
+        if (engine != null && time > 0 && searchThread != null) {
+            ponderStop = timer.schedule(engine::stop, time, TimeUnit.MILLISECONDS);
+        }
+        release.countDown();
+    }
+
+    /**
+     * stopSearch stops the current search, which then sends its bestmove
+     */
+    private void stopSearch() {
+        if (search != null) {
+            search.stop();
+        }
+        release.countDown();
+        waitForSearch();
+    }
+
+    /**
+     * waitForSearch waits until the current search has sent its bestmove. An infinite or ponder search is
+     * stopped first, since it would never end on its own.
+     */
+    private void waitForSearch() {
+        Thread thread = searchThread;
+        if (thread == null) {
+            return;
+        }
+        if (release.getCount() > 0) {
+            search.stop();
+            release.countDown();
+        }
+        try {
+            thread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searchThread = null;
+        if (ponderStop != null) {
+            ponderStop.cancel(false);
+            ponderStop = null;
+        }
+    }
+
+    /**
+     * engine gets the search, making it on first use
+     *
+     * @return the search
+     */
+    private ParallelSearch engine() {
+        if (search == null) {
+            search = new ParallelSearch(new TranspositionTable(hashMegabytes), threads);
+        }
+        return search;
+    }
+
+    /**
+     * replaceEngine drops the search so the next use makes one with the current options
+     */
+    private void replaceEngine() {
+        if (search != null) {
+            search.shutdown();
+            search = null;
+        }
+    }
+
+    /**
+     * info writes an iteration result as a UCI info line
+     *
+     * @param result result of the iteration
+     * @param engine the search, for the node count of every thread
+     * @param millis time since the go command
+     * @return text such as "info depth 6 score cp 35 nodes 12345 nps 100000 time 120 hashfull 12 pv e2e4 e7e5"
+     */
+    private static String info(SearchResult result, ParallelSearch engine, long millis) {
+        long nodes = engine.getNodes();
+        StringBuilder text = new StringBuilder("info depth ").append(result.getDepth()).append(" score ");
+        text.append(result.isMate() ? "mate " + result.mateIn() : "cp " + result.getScore());
+        text.append(" nodes ").append(nodes)
+                .append(" nps ").append(millis > 0 ? nodes * 1000 / millis : nodes)
+                .append(" time ").append(millis)
+                .append(" hashfull ").append(engine.getTable().hashfull())
+                .append(" pv");
+        for (int move : result.getPv()) {
+            text.append(' ').append(Move.toUci(move));
+        }
+        return text.toString();
+    }
+}
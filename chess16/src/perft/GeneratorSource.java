@@ -0,0 +1,37 @@
+package perft;
+
+import pieces.Board;
+import pieces.MoveGenerator;
+import pieces.MoveList;
+
+/**
+ * GeneratorSource lists legal moves with MoveGenerator, which works out pins and checks up front
+ * instead of trying each move.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class GeneratorSource implements MoveSource {
+    /**
+     * generate fills a list with every legal move of the side to move
+     *
+     * @param board Board object where the game is being played on
+     * @param moves list to fill, cleared first
+     * @return number of legal moves
+     */
+    @Override
+    public int generate(Board board, MoveList moves) {
+        return MoveGenerator.generate(board, moves);
+    }
+
+    /**
+     * name gets a short name of the move source to show in reports
+     *
+     * @return "generator"
+     */
+    @Override
+    public String name() {
+        return "generator";
+    }
+}
@@ -0,0 +1,31 @@
+package perft;
+
+import pieces.Board;
+import pieces.MoveList;
+
+/**
+ * MoveSource is anything that can list the legal moves of a position. Perft walks the game tree through this
+ * interface, so the same counts can be taken from the typed-move validation path and from any faster move
+ * generator and compared with each other and with the reference counts.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public interface MoveSource {
+    /**
+     * generate fills a list with every legal move of the side to move. The board must be left as it was found.
+     *
+     * @param board Board object where the game is being played on
+     * @param moves list to fill, cleared first
+     * @return number of legal moves
+     */
+    int generate(Board board, MoveList moves);
+
+    /**
+     * name gets a short name of the move source to show in reports
+     *
+     * @return name of the move source
+     */
+    String name();
+}
@@ -0,0 +1,291 @@
+package perft;
+
+import pieces.Board;
+import pieces.Move;
+import pieces.MoveList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Perft counts the leaf nodes of the game tree to a fixed depth. The counts are known for the standard
+ * reference positions, so any difference points straight at a move generation bug, and the time taken
+ * gives a speed figure in nodes per second.
+ *
+ * Usage: java perft.Perft [--fen "FEN"] [--divide] [--validmove | --both] [depth]
+ *        java perft.Perft --suite [--validmove | --both] [depth]
+ *
+ * --fen picks the position (the starting position by default), --divide prints the count below each root
+ * move, --validmove counts through the Piece.validMove path instead of MoveGenerator and --both runs the two
+ * side by side. --suite runs every reference position up to the given depth (4 by default) and exits with
+ * status 1 if any count is wrong.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class Perft {
+    /**
+     * the standard starting position in FEN
+     */
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /**
+     * depth used when none is given
+     */
+    private static final int DEFAULT_DEPTH = 4;
+
+    /**
+     * command line summary, shown when the arguments cannot be read
+     */
+    private static final String USAGE =
+            "Usage: java perft.Perft [--fen \"FEN\"] [--divide] [--validmove | --both] [depth]\n"
+            + "       java perft.Perft --suite [--validmove | --both] [depth]";
+
+    /**
+     * perft counts the leaf nodes below a position
+     *
+     * @param board Board object to count from, left as it was found
+     * @param source where the legal moves come from
+     * @param depth number of plies to look ahead
+     * @return number of leaf nodes
+     */
+    public static long perft(Board board, MoveSource source, int depth) {
+        return perft(board, source, depth, newLists(depth));
+    }
+
+    /**
+     * perft counts the leaf nodes below a position with one move list per ply, so nothing is allocated
+     * while the tree is walked. At the last ply the moves are counted without being made.
+     *
+     * @param board Board object to count from, left as it was found
+     * @param source where the legal moves come from
+     * @param depth number of plies to look ahead
+     * @param lists move lists, at least depth + 1 of them
+     * @return number of leaf nodes
+     */
+    public static long perft(Board board, MoveSource source, int depth, MoveList[] lists) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = lists[depth];
+        int count = source.generate(board, moves);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves.get(i));
+            nodes += perft(board, source, depth - 1, lists);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * divide counts the leaf nodes below each legal move of a position
+     *
+     * @param board Board object to count from, left as it was found
+     * @param source where the legal moves come from
+     * @param depth number of plies to look ahead, at least 1
+     * @param rootMoves list filled with the root moves
+     * @return leaf count below each root move, in the order of rootMoves
+     */
+    public static long[] divide(Board board, MoveSource source, int depth, MoveList rootMoves) {
+        MoveList[] lists = newLists(depth);
+        int count = source.generate(board, rootMoves);
+        long[] nodes = new long[count];
+        for (int i = 0; i < count; i++) {
+            board.makeMove(rootMoves.get(i));
+            nodes[i] = perft(board, source, depth - 1, lists);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * newLists makes one move list per ply
+     *
+     * @param depth number of plies
+     * @return depth + 1 empty move lists
+     */
+    private static MoveList[] newLists(int depth) {
+        MoveList[] lists = new MoveList[depth + 1];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = new MoveList();
+        }
+        return lists;
+    }
+
+    /**
+     * runSuite counts every reference position up to a depth with each move source and prints the counts,
+     * times and speeds
+     *
+     * @param sources move sources to run
+     * @param maxDepth deepest depth to count, capped at each position's deepest known count
+     * @return number of wrong counts
+     */
+    public static int runSuite(List<MoveSource> sources, int maxDepth) {
+        int failures = 0;
+        Board board = new Board();
+        for (MoveSource source : sources) {
+            long totalNodes = 0;
+            long totalNanos = 0;
+            for (ReferencePosition position : ReferencePosition.SUITE) {
+                board.setUpBoard(position.getFen());
+                int depth = Math.min(maxDepth, position.getMaxDepth());
+                long start = System.nanoTime();
+                long nodes = perft(board, source, depth);
+                long nanos = System.nanoTime() - start;
+                boolean ok = nodes == position.getCount(depth);
+                if (!ok) {
+                    failures++;
+                }
+                totalNodes += nodes;
+                totalNanos += nanos;
+                System.out.println(source.name() + "  " + position.getName() + "  depth " + depth + ": " + nodes
+                        + " nodes, " + report(nodes, nanos) + (ok ? "  OK" : "  FAIL expected " + position.getCount(depth)));
+            }
+            System.out.println(source.name() + "  total: " + totalNodes + " nodes, " + report(totalNodes, totalNanos));
+            System.out.println();
+        }
+        return failures;
+    }
+
+    /**
+     * report formats a time and speed
+     *
+     * @param nodes number of nodes counted
+     * @param nanos time taken in nanoseconds
+     * @return text such as "120 ms, 1650000 nps"
+     */
+    private static String report(long nodes, long nanos) {
+        long nps = nanos > 0 ? (long) (nodes * 1e9 / nanos) : 0;
+        return (nanos / 1000000) + " ms, " + nps + " nps";
+    }
+
+    /**
+     * readDepth reads the depth argument
+     *
+     * @param arg command line argument
+     * @return depth, at least 1
+     * @throws IllegalArgumentException if the argument is not a whole number of at least 1, such as an unknown
+     * option
+     */
+    static int readDepth(String arg) {
+        int depth;
+        try {
+            depth = Integer.parseInt(arg);
+        }
+        catch (NumberFormatException e) {
+            throw usage("Unknown option " + arg);
+        }
+        if (depth < 1) {
+            throw usage("Depth must be at least 1");
+        }
+        return depth;
+    }
+
+    /**
+     * usage makes the exception for a command line that cannot be read
+     *
+     * @param problem what is wrong with the arguments
+     * @return the exception to throw, whose message ends with the usage
+     */
+    private static IllegalArgumentException usage(String problem) {
+        return new IllegalArgumentException(problem + "\n" + USAGE);
+    }
+
+    /**
+     * main reads the command line and runs a count, a divide or the reference suite
+     *
+     * @param args command line arguments, see the class description
+     */
+    public static void main(String[] args) {
+        String fen = START_FEN;
+        boolean divide = false;
+        boolean suite = false;
+        boolean validMove = false;
+        boolean both = false;
+        int depth = DEFAULT_DEPTH;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--fen":
+                    if (++i == args.length) {
+                        throw usage("--fen needs a position");
+                    }
+                    fen = args[i];
+                    break;
+                case "--divide": divide = true; break;
+                case "--suite": suite = true; break;
+                case "--validmove": validMove = true; break;
+                case "--both": both = true; break;
+                default: depth = readDepth(args[i]); break;
+            }
+        }
+        List<MoveSource> sources = new ArrayList<>();
+        if (validMove || both) sources.add(new ValidMoveSource());
+        if (!validMove || both) sources.add(new GeneratorSource());
+
+        if (suite) {
+            int failures = runSuite(sources, depth);
+            System.out.println(failures == 0 ? "All counts match" : failures + " counts wrong");
+            System.exit(failures == 0 ? 0 : 1);
+        }
+
+        Board board = new Board();
+        board.setUpBoard(fen);
+        if (divide) {
+            printDivide(board, sources, depth);
+            return;
+        }
+        for (MoveSource source : sources) {
+            long start = System.nanoTime();
+            long nodes = perft(board, source, depth);
+            System.out.println(source.name() + "  depth " + depth + ": " + nodes + " nodes, " + report(nodes, System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * printDivide prints the count below each root move for every move source. With more than one source the
+     * counts are printed side by side and moves the sources disagree on are marked.
+     *
+     * @param board Board object to count from
+     * @param sources move sources to run
+     * @param depth number of plies to look ahead
+     */
+    private static void printDivide(Board board, List<MoveSource> sources, int depth) {
+        MoveList[] roots = new MoveList[sources.size()];
+        long[][] counts = new long[sources.size()][];
+        for (int s = 0; s < sources.size(); s++) {
+            roots[s] = new MoveList();
+            counts[s] = divide(board, sources.get(s), depth, roots[s]);
+        }
+        // list every move any source found, in the order the first source found them
+        MoveList all = new MoveList();
+        for (MoveList root : roots) {
+            for (int i = 0; i < root.size(); i++) {
+                if (all.indexOf(root.get(i)) < 0) all.add(root.get(i));
+            }
+        }
+        long[] totals = new long[sources.size()];
+        for (int i = 0; i < all.size(); i++) {
+            StringBuilder line = new StringBuilder(Move.toString(all.get(i))).append(':');
+            long first = -1;
+            boolean differs = false;
+            for (int s = 0; s < sources.size(); s++) {
+                int index = roots[s].indexOf(all.get(i));
+                long nodes = index >= 0 ? counts[s][index] : 0;
+                totals[s] += nodes;
+                line.append(' ').append(index >= 0 ? String.valueOf(nodes) : "missing");
+                if (first < 0) first = nodes;
+                else if (nodes != first) differs = true;
+            }
+            System.out.println(line + (differs ? "  MISMATCH" : ""));
+        }
+        System.out.println();
+        for (int s = 0; s < sources.size(); s++) {
+            System.out.println(sources.get(s).name() + ": " + roots[s].size() + " moves, " + totals[s] + " nodes");
+        }
+    }
+}
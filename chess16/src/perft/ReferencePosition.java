@@ -0,0 +1,94 @@
+package perft;
+
+/**
+ * ReferencePosition is a position with its known perft counts. The positions are the standard ones used to
+ * test move generators: together they cover castling, en passant, promotions, pins and checks.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class ReferencePosition {
+    /**
+     * the standard reference positions and their leaf counts from depth 1 upward
+     */
+    public static final ReferencePosition[] SUITE = {
+            new ReferencePosition("start", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                    20L, 400L, 8902L, 197281L, 4865609L, 119060324L),
+            new ReferencePosition("kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    48L, 2039L, 97862L, 4085603L, 193690690L),
+            new ReferencePosition("position 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    14L, 191L, 2812L, 43238L, 674624L, 11030083L),
+            new ReferencePosition("position 4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    6L, 264L, 9467L, 422333L, 15833292L),
+            new ReferencePosition("position 5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    44L, 1486L, 62379L, 2103487L, 89941194L),
+            new ReferencePosition("position 6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    46L, 2079L, 89890L, 3894594L, 164075551L)
+    };
+
+    /**
+     * short name of the position
+     */
+    private final String name;
+
+    /**
+     * the position in FEN
+     */
+    private final String fen;
+
+    /**
+     * known leaf counts, index 0 holds depth 1
+     */
+    private final long[] counts;
+
+    /**
+     * ReferencePosition constructor
+     *
+     * @param name short name of the position
+     * @param fen the position in FEN
+     * @param counts known leaf counts from depth 1 upward
+     */
+    public ReferencePosition(String name, String fen, long... counts) {
+        this.name = name;
+        this.fen = fen;
+        this.counts = counts;
+    }
+
+    /**
+     * getName gets the short name of the position
+     *
+     * @return name of the position
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * getFen gets the position in FEN
+     *
+     * @return the position in FEN
+     */
+    public String getFen() {
+        return fen;
+    }
+
+    /**
+     * getMaxDepth gets the deepest depth with a known count
+     *
+     * @return deepest known depth
+     */
+    public int getMaxDepth() {
+        return counts.length;
+    }
+
+    /**
+     * getCount gets the known leaf count at a depth
+     *
+     * @param depth depth between 1 and getMaxDepth
+     * @return number of leaf nodes
+     */
+    public long getCount(int depth) {
+        return counts[depth - 1];
+    }
+}
@@ -0,0 +1,85 @@
+package perft;
+
+import pieces.Bitboards;
+import pieces.Board;
+import pieces.Move;
+import pieces.MoveList;
+import pieces.Piece;
+
+/**
+ * ValidMoveSource lists legal moves the way a typed move is checked during a game: every piece is offered
+ * every square with Piece.validMove, and each move it accepts is kept if it does not leave the mover's king
+ * in check. This is slow, but it is the path players use, so perft through it checks the rules as typed.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class ValidMoveSource implements MoveSource {
+    /**
+     * piece types a pawn is offered when it reaches the last rank
+     */
+    private static final int[] PROMOTIONS = {Board.QUEEN, Board.ROOK, Board.BISHOP, Board.KNIGHT};
+
+    /**
+     * generate tries every piece of the side to move on every square and keeps the moves validMove accepts
+     * that do not leave the mover's king in check
+     *
+     * @param board Board object where the game is being played on
+     * @param moves list to fill, cleared first
+     * @return number of legal moves
+     */
+    @Override
+    public int generate(Board board, MoveList moves) {
+        moves.clear();
+        boolean white = board.isWhiteToMove();
+        long pieces = board.getOccupancy(white);
+        int lastRank = white ? 0 : 7;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            Piece piece = board.getPiece(from);
+            for (int to = 0; to < 64; to++) {
+                if (to == from) continue;
+                if (piece.getType() == Board.PAWN && Bitboards.rankOf(to) == lastRank) {
+                    for (int promotion : PROMOTIONS) {
+                        tryMove(board, piece, Move.of(from, to, promotion, 0), white, moves);
+                    }
+                }
+                else {
+                    tryMove(board, piece, Move.of(from, to), white, moves);
+                }
+            }
+        }
+        return moves.size();
+    }
+
+    /**
+     * tryMove makes a move through validMove and keeps it if the mover's king is safe, then takes it back
+     *
+     * @param board Board object where the game is being played on
+     * @param piece piece being moved
+     * @param move encoded move as a player would type it
+     * @param white true if white is moving
+     * @param moves list the move is added to when legal
+     */
+    private static void tryMove(Board board, Piece piece, int move, boolean white, MoveList moves) {
+        if (!piece.validMove(board, move)) {
+            return;
+        }
+        if (!board.isInCheck(white)) {
+            moves.add(board.getLastMove());
+        }
+        board.unmakeMove();
+    }
+
+    /**
+     * name gets a short name of the move source to show in reports
+     *
+     * @return "validMove"
+     */
+    @Override
+    public String name() {
+        return "validMove";
+    }
+}
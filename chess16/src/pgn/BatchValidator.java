@@ -0,0 +1,309 @@
+package pgn;
+
+import pieces.Board;
+import pieces.MoveGenerator;
+import pieces.MoveList;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * BatchValidator checks every move of a corpus of PGN games on all cores. The calling thread reads the games
+ * into chunks and hands each chunk to a ForkJoinPool, which splits it further so idle workers can steal games;
+ * every game is replayed through the rules and gets a GameVerdict. A few chunks are kept in flight so reading
+ * and validating overlap, and the verdicts are handed out in file order as each oldest chunk completes; its
+ * games are then read into again, so the memory used does not grow with the corpus.
+ *
+ * Each worker thread replays on a Board of its own, so no position state is shared between threads.
+ *
+ * Usage: java pgn.BatchValidator [--threads N] [--chunk N] [--quiet] FILE...
+ *
+ * prints a verdict per game, or only the illegal ones with --quiet, and the totals and throughput.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class BatchValidator {
+    /**
+     * games per chunk when none is given
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    /**
+     * games below which a part of a chunk is validated without splitting it further
+     */
+    private static final int LEAF_SIZE = 16;
+
+    /**
+     * each worker thread's own board and move list
+     */
+    private static final ThreadLocal<Worker> WORKERS = ThreadLocal.withInitial(Worker::new);
+
+    /**
+     * pool the games are validated on
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * games per chunk
+     */
+    private final int chunkSize;
+
+    /**
+     * chunks read ahead of the oldest one still being validated
+     */
+    private final int chunksInFlight;
+
+    /**
+     * BatchValidator constructor
+     *
+     * @param pool pool to validate the games on
+     * @param chunkSize games per chunk
+     * @throws IllegalArgumentException if chunkSize is below 1
+     */
+    public BatchValidator(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("A chunk needs at least one game");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        chunksInFlight = 2 * pool.getParallelism() + 1;
+    }
+
+    /**
+     * validate validates every game a reader has left
+     *
+     * @param reader PgnReader object to read the games from
+     * @param verdicts called with the verdict of each game in file order, on the calling thread
+     * @return totals and throughput of the games
+     * @throws IOException if the games cannot be read
+     */
+    public ValidationSummary validate(PgnReader reader, Consumer<GameVerdict> verdicts) throws IOException {
+        long start = System.nanoTime();
+        long bytesBefore = reader.getBytesRead();
+        ValidationSummary summary = new ValidationSummary();
+        ArrayDeque<Chunk> running = new ArrayDeque<>();
+        ArrayDeque<Chunk> spare = new ArrayDeque<>();
+        try {
+            while (true) {
+                Chunk chunk = spare.isEmpty() ? new Chunk(chunkSize) : spare.poll();
+                chunk.size = 0;
+                while (chunk.size < chunkSize && reader.next(chunk.games[chunk.size])) {
+                    chunk.size++;
+                }
+                if (chunk.size == 0) {
+                    break;
+                }
+                chunk.task = new Validation(chunk, 0, chunk.size);
+                pool.execute(chunk.task);
+                running.add(chunk);
+                if (running.size() >= chunksInFlight) {
+                    spare.add(finish(running.poll(), summary, verdicts));
+                }
+            }
+            while (!running.isEmpty()) {
+                finish(running.poll(), summary, verdicts);
+            }
+        }
+        finally {
+            for (Chunk chunk : running) {
+                chunk.task.cancel(true);
+            }
+        }
+        summary.finish(reader.getBytesRead() - bytesBefore, System.nanoTime() - start, pool.getParallelism());
+        return summary;
+    }
+
+    /**
+     * finish waits for a chunk and hands out its verdicts
+     *
+     * @param chunk the chunk
+     * @param summary totals to add the verdicts to
+     * @param verdicts called with each verdict
+     * @return the chunk, free to be read into again
+     */
+    private static Chunk finish(Chunk chunk, ValidationSummary summary, Consumer<GameVerdict> verdicts) {
+        chunk.task.join();
+        for (int i = 0; i < chunk.size; i++) {
+            summary.add(chunk.verdicts[i]);
+            verdicts.accept(chunk.verdicts[i]);
+            chunk.verdicts[i] = null;
+        }
+        return chunk;
+    }
+
+    /**
+     * judge replays one game and gives its verdict
+     *
+     * @param game the game
+     * @param worker the calling thread's board and move list
+     * @return the verdict
+     */
+    static GameVerdict judge(PgnGame game, Worker worker) {
+        Board board = worker.board;
+        if (!game.replay(board)) {
+            int ply = game.getIllegalPly();
+            return new GameVerdict(game.getNumber(), game.getPlies(), ply,
+                    ply < game.getSanCount() ? game.getSan(ply) : null, game.getResult(), GameVerdict.ONGOING);
+        }
+        int ending = GameVerdict.ONGOING;
+        if (MoveGenerator.generate(board, worker.moves) == 0) {
+            ending = board.isInCheck(board.isWhiteToMove()) ? GameVerdict.CHECKMATE : GameVerdict.STALEMATE;
+        }
+        return new GameVerdict(game.getNumber(), game.getPlies(), -1, null, game.getResult(), ending);
+    }
+
+    /**
+     * Worker is the position state one thread replays games with
+     */
+    private static final class Worker {
+        /**
+         * board the games are replayed on
+         */
+        final Board board = new Board();
+
+        /**
+         * move list for finding the ending
+         */
+        final MoveList moves = new MoveList();
+    }
+
+    /**
+     * Chunk is a batch of games read together and their verdicts
+     */
+    private static final class Chunk {
+        /**
+         * the games, read into again each time the chunk is reused
+         */
+        final PgnGame[] games;
+
+        /**
+         * verdict of each game
+         */
+        final GameVerdict[] verdicts;
+
+        /**
+         * number of games read into the chunk
+         */
+        int size;
+
+        /**
+         * task validating the chunk
+         */
+        Validation task;
+
+        /**
+         * Chunk constructor
+         *
+         * @param capacity most games in the chunk
+         */
+        Chunk(int capacity) {
+            games = new PgnGame[capacity];
+            verdicts = new GameVerdict[capacity];
+            for (int i = 0; i < capacity; i++) {
+                games[i] = new PgnGame();
+            }
+        }
+    }
+
+    /**
+     * Validation validates a range of the games of a chunk, splitting it in half until it is small
+     */
+    private static final class Validation extends RecursiveAction {
+        /**
+         * version of the serialized form, which is never used
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * chunk the games are in
+         */
+        private final Chunk chunk;
+
+        /**
+         * first game of the range
+         */
+        private final int from;
+
+        /**
+         * game after the last of the range
+         */
+        private final int to;
+
+        /**
+         * Validation constructor
+         *
+         * @param chunk chunk the games are in
+         * @param from first game of the range
+         * @param to game after the last of the range
+         */
+        Validation(Chunk chunk, int from, int to) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * compute validates the range, or splits it and validates both halves
+         */
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Validation(chunk, from, middle), new Validation(chunk, middle, to));
+                return;
+            }
+            Worker worker = WORKERS.get();
+            for (int i = from; i < to; i++) {
+                chunk.verdicts[i] = judge(chunk.games[i], worker);
+            }
+        }
+    }
+
+    /**
+     * main validates every game of the files and prints the verdicts and totals
+     *
+     * @param args command line arguments, see the class description
+     * @throws IOException if a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = DEFAULT_CHUNK_SIZE;
+        boolean quiet = false;
+        int first = 0;
+        while (first < args.length && args[first].startsWith("--")) {
+            switch (args[first]) {
+                case "--threads": threads = Integer.parseInt(args[++first]); break;
+                case "--chunk": chunkSize = Integer.parseInt(args[++first]); break;
+                case "--quiet": quiet = true; break;
+                default: throw new IllegalArgumentException("Unknown option " + args[first]);
+            }
+            first++;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        BatchValidator validator = new BatchValidator(pool, chunkSize);
+        final boolean onlyIllegal = quiet;
+        try {
+            for (int i = first; i < args.length; i++) {
+                final String file = args[i];
+                try (PgnReader reader = PgnReader.open(Paths.get(file))) {
+                    ValidationSummary summary = validator.validate(reader, verdict -> {
+                        if (!onlyIllegal || !verdict.isLegal()) {
+                            System.out.println(file + " " + verdict);
+                        }
+                    });
+                    System.out.println(file + ": " + summary);
+                }
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package pgn;
+
+/**
+ * GameVerdict is what validating one game found: whether every move was legal, and if not which one was not,
+ * how the game ended on the board and the result the file gives for it.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class GameVerdict {
+    /**
+     * ending: the last position still has legal moves
+     */
+    public static final int ONGOING = 0;
+
+    /**
+     * ending: the side to move is checkmated
+     */
+    public static final int CHECKMATE = 1;
+
+    /**
+     * ending: the side to move has no legal move and is not in check
+     */
+    public static final int STALEMATE = 2;
+
+    /**
+     * name of each ending
+     */
+    private static final String[] ENDINGS = {"ongoing", "checkmate", "stalemate"};
+
+    /**
+     * position of the game in its file, counting from 1
+     */
+    private final long number;
+
+    /**
+     * moves played before the first illegal one, or all of them
+     */
+    private final int plies;
+
+    /**
+     * index of the first illegal move, or -1 if every move was legal
+     */
+    private final int illegalPly;
+
+    /**
+     * the first illegal move as written, or null
+     */
+    private final String illegalMove;
+
+    /**
+     * result token the file gives: "1-0", "0-1", "1/2-1/2" or "*"
+     */
+    private final String result;
+
+    /**
+     * how the last legal position ends, one of the ending constants
+     */
+    private final int ending;
+
+    /**
+     * GameVerdict constructor
+     *
+     * @param number position of the game in its file
+     * @param plies moves played
+     * @param illegalPly index of the first illegal move, or -1
+     * @param illegalMove the first illegal move as written, or null
+     * @param result result token of the game
+     * @param ending one of ONGOING, CHECKMATE or STALEMATE
+     */
+    public GameVerdict(long number, int plies, int illegalPly, String illegalMove, String result, int ending) {
+        this.number = number;
+        this.plies = plies;
+        this.illegalPly = illegalPly;
+        this.illegalMove = illegalMove;
+        this.result = result;
+        this.ending = ending;
+    }
+
+    /**
+     * getNumber gets the position of the game in its file
+     *
+     * @return position counting from 1
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    /**
+     * isLegal checks if every move of the game was legal
+     *
+     * @return true if so
+     */
+    public boolean isLegal() {
+        return illegalPly < 0;
+    }
+
+    /**
+     * getPlies gets the number of moves played, which stops before the first illegal one
+     *
+     * @return number of moves
+     */
+    public int getPlies() {
+        return plies;
+    }
+
+    /**
+     * getIllegalPly gets the index of the first illegal move
+     *
+     * @return index from 0, or -1 if every move was legal
+     */
+    public int getIllegalPly() {
+        return illegalPly;
+    }
+
+    /**
+     * getIllegalMove gets the first illegal move as written
+     *
+     * @return the move, or null if every move was legal
+     */
+    public String getIllegalMove() {
+        return illegalMove;
+    }
+
+    /**
+     * getResult gets the result the file gives
+     *
+     * @return "1-0", "0-1", "1/2-1/2" or "*"
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * getEnding gets how the last legal position ends
+     *
+     * @return one of ONGOING, CHECKMATE or STALEMATE
+     */
+    public int getEnding() {
+        return ending;
+    }
+
+    /**
+     * toString writes the verdict on one line, such as "game 12: legal, 85 plies, 1-0, checkmate" or
+     * "game 13: illegal move Ke3 at ply 3, 0-1"
+     *
+     * @return text of the verdict
+     */
+    @Override
+    public String toString() {
+        if (!isLegal()) {
+            return "game " + number + ": illegal move " + (illegalMove != null ? illegalMove : "(position)")
+                    + " at ply " + (illegalPly + 1) + ", " + result;
+        }
+        return "game " + number + ": legal, " + plies + " plies, " + result + ", " + ENDINGS[ending];
+    }
+}
@@ -0,0 +1,241 @@
+package pgn;
+
+import pieces.Board;
+import pieces.Fen;
+import pieces.Move;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PgnGame is one game read from a PGN file: its tags, its moves as written in SAN and its result. replay plays
+ * the moves on a Board through the rules and keeps them encoded, or finds the first one that is not legal.
+ *
+ * A PgnReader fills the same PgnGame again for every game, so the SAN text and move arrays are reused; only the
+ * tags are new for each game.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class PgnGame {
+    /**
+     * tags in the order they were read, such as "White" or "FEN"
+     */
+    private final Map<String, String> tags = new LinkedHashMap<>();
+
+    /**
+     * SAN text of every move, one after another
+     */
+    private final StringBuilder sanText = new StringBuilder(1024);
+
+    /**
+     * where each move starts in sanText; move i ends where move i + 1 starts
+     */
+    private int[] sanStarts = new int[256];
+
+    /**
+     * number of moves read
+     */
+    private int sanCount;
+
+    /**
+     * result token at the end of the game: "1-0", "0-1", "1/2-1/2" or "*"
+     */
+    private String result = "*";
+
+    /**
+     * position of the game in its file, counting from 1
+     */
+    private long number;
+
+    /**
+     * encoded moves found by replay
+     */
+    private int[] moves = new int[256];
+
+    /**
+     * number of moves replay played
+     */
+    private int plies;
+
+    /**
+     * index of the first move replay could not play, or -1 if it played them all
+     */
+    private int illegalPly = -1;
+
+    /**
+     * clear empties the game so it can be read again
+     */
+    public void clear() {
+        tags.clear();
+        sanText.setLength(0);
+        sanCount = 0;
+        result = "*";
+        plies = 0;
+        illegalPly = -1;
+    }
+
+    /**
+     * addTag adds a tag
+     *
+     * @param name name of the tag
+     * @param value value of the tag
+     */
+    void addTag(String name, String value) {
+        tags.put(name, value);
+    }
+
+    /**
+     * addSan adds a move in SAN
+     *
+     * @param text text holding the move
+     * @param start position of its first character
+     * @param end position after its last character
+     */
+    void addSan(CharSequence text, int start, int end) {
+        if (sanCount + 1 >= sanStarts.length) {
+            sanStarts = Arrays.copyOf(sanStarts, sanStarts.length * 2);
+        }
+        sanStarts[sanCount++] = sanText.length();
+        sanText.append(text, start, end);
+        sanStarts[sanCount] = sanText.length();
+    }
+
+    /**
+     * setResult sets the result token of the game
+     *
+     * @param result "1-0", "0-1", "1/2-1/2" or "*"
+     */
+    void setResult(String result) {
+        this.result = result;
+    }
+
+    /**
+     * setNumber sets the position of the game in its file
+     *
+     * @param number position counting from 1
+     */
+    void setNumber(long number) {
+        this.number = number;
+    }
+
+    /**
+     * replay plays the moves from the starting position of the game, the FEN tag if there is one
+     *
+     * @param board Board object to play on; it is set up again first and holds the last legal position after
+     * @return true if every move was legal; otherwise getIllegalPly tells which was not
+     */
+    public boolean replay(Board board) {
+        plies = 0;
+        illegalPly = -1;
+        String fen = tags.get("FEN");
+        try {
+            Fen.load(board, fen != null ? fen : Fen.START);
+        }
+        catch (IllegalArgumentException e) {
+            Fen.load(board, Fen.START);
+            illegalPly = 0;
+            return false;
+        }
+        if (moves.length < sanCount) {
+            moves = new int[Math.max(sanCount, moves.length * 2)];
+        }
+        for (int i = 0; i < sanCount; i++) {
+            int move = San.resolve(board, sanText, sanStarts[i], sanStarts[i + 1]);
+            if (move == Move.NONE) {
+                illegalPly = i;
+                return false;
+            }
+            board.makeMove(move);
+            moves[plies++] = move;
+        }
+        return true;
+    }
+
+    /**
+     * getTag gets the value of a tag
+     *
+     * @param name name of the tag
+     * @return its value, or null if the game has no such tag
+     */
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * getTags gets every tag in the order read
+     *
+     * @return unmodifiable map from name to value
+     */
+    public Map<String, String> getTags() {
+        return Collections.unmodifiableMap(tags);
+    }
+
+    /**
+     * getSanCount gets the number of moves read
+     *
+     * @return number of moves
+     */
+    public int getSanCount() {
+        return sanCount;
+    }
+
+    /**
+     * getSan gets a move as written
+     *
+     * @param ply index of the move, from 0
+     * @return the move in SAN
+     */
+    public String getSan(int ply) {
+        return sanText.substring(sanStarts[ply], sanStarts[ply + 1]);
+    }
+
+    /**
+     * getResult gets the result token at the end of the game
+     *
+     * @return "1-0", "0-1", "1/2-1/2" or "*"
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * getNumber gets the position of the game in its file
+     *
+     * @return position counting from 1
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    /**
+     * getPlies gets the number of moves the last replay played
+     *
+     * @return number of moves
+     */
+    public int getPlies() {
+        return plies;
+    }
+
+    /**
+     * getMove gets a move the last replay played
+     *
+     * @param ply index of the move, from 0
+     * @return encoded move
+     */
+    public int getMove(int ply) {
+        return moves[ply];
+    }
+
+    /**
+     * getIllegalPly gets the first move the last replay could not play
+     *
+     * @return index of the move from 0, 0 also for a FEN tag that cannot be read, or -1 if every move was legal
+     */
+    public int getIllegalPly() {
+        return illegalPly;
+    }
+}
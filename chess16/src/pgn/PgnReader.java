@@ -0,0 +1,481 @@
+package pgn;
+
+import pieces.Board;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * PgnReader streams games out of a PGN file one at a time. It reads the file through an NIO channel into a
+ * fixed buffer, so files of any size are read in constant memory, and fills a PgnGame with each game's tags,
+ * SAN moves and result. Comments, variations, numeric annotations and escape lines are skipped; a game missing
+ * its result still ends where the next one's tags start. The moves are not checked here; PgnGame.replay plays
+ * them through the rules.
+ *
+ * Tag values are read as UTF-8, which covers the ASCII of standard PGN and the accented names of most files.
+ *
+ * Usage: java pgn.PgnReader [--parse-only] FILE...
+ *
+ * replays every game of the files and prints the games, moves and illegal games found and the throughput in
+ * games per second; --parse-only reads the games without replaying them.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class PgnReader implements Closeable {
+    /**
+     * bytes read from the channel at a time
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * channel the games are read from
+     */
+    private final ReadableByteChannel channel;
+
+    /**
+     * buffer over bytes
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * the buffer's array, read directly
+     */
+    private final byte[] bytes = buffer.array();
+
+    /**
+     * position of the next unread byte in bytes
+     */
+    private int position;
+
+    /**
+     * number of bytes in bytes
+     */
+    private int limit;
+
+    /**
+     * true once the channel has no more bytes
+     */
+    private boolean ended;
+
+    /**
+     * true if the last byte read ended a line, or nothing has been read
+     */
+    private boolean lineStart = true;
+
+    /**
+     * current token of the move text
+     */
+    private final StringBuilder token = new StringBuilder(32);
+
+    /**
+     * bytes of the current tag value, decoded once the value is complete
+     */
+    private byte[] value = new byte[256];
+
+    /**
+     * number of games read
+     */
+    private long games;
+
+    /**
+     * number of bytes read
+     */
+    private long bytesRead;
+
+    /**
+     * PgnReader constructor
+     *
+     * @param channel channel to read the games from; closed by close
+     */
+    public PgnReader(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * open opens a PGN file for reading
+     *
+     * @param path the file
+     * @return new PgnReader object
+     * @throws IOException if the file cannot be opened
+     */
+    public static PgnReader open(Path path) throws IOException {
+        return new PgnReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * next reads the next game
+     *
+     * @param game PgnGame object to fill; cleared first
+     * @return true if a game was read, false at the end of the file
+     * @throws IOException if the channel cannot be read
+     */
+    public boolean next(PgnGame game) throws IOException {
+        game.clear();
+        boolean found = false;
+
+        while (true) {
+            int c = skipWhitespace();
+            if (c == '[') {
+                read();
+                readTag(game);
+                found = true;
+            }
+            else if (c == '%' && lineStart) {
+                skipLine();
+            }
+            else if (c < 0) {
+                return finish(game, found);
+            }
+            else {
+                break;
+            }
+        }
+
+        while (true) {
+            boolean newLine = lineStart;
+            int c = skipWhitespace();
+            newLine |= lineStart;
+            if (c < 0 || (c == '[' && newLine)) {
+                return finish(game, true);
+            }
+            if (c == '%' && newLine) {
+                skipLine();
+                continue;
+            }
+            switch (c) {
+                case '{':
+                    skipPast('}');
+                    break;
+                case ';':
+                    skipLine();
+                    break;
+                case '(':
+                    read();
+                    skipVariation();
+                    break;
+                case ')':
+                case ']':
+                    read();
+                    break;
+                case '$':
+                    read();
+                    while (peek() >= '0' && peek() <= '9') read();
+                    break;
+                default:
+                    readToken();
+                    if (isResult(token)) {
+                        game.setResult(token.toString());
+                        return finish(game, true);
+                    }
+                    int start = skipMoveNumber(token);
+                    if (start < token.length()) {
+                        game.addSan(token, start, token.length());
+                    }
+            }
+        }
+    }
+
+    /**
+     * finish counts a game that was read
+     *
+     * @param game the game
+     * @param found true if anything of the game was read
+     * @return found
+     */
+    private boolean finish(PgnGame game, boolean found) {
+        if (found) {
+            game.setNumber(++games);
+        }
+        return found;
+    }
+
+    /**
+     * readTag reads a tag such as [White "Morphy, Paul"] after its opening bracket
+     *
+     * @param game PgnGame object to add the tag to
+     * @throws IOException if the channel cannot be read
+     */
+    private void readTag(PgnGame game) throws IOException {
+        token.setLength(0);
+        int c = skipSpaces();
+        while (c >= 0 && c != '"' && c != ']' && c > ' ') {
+            token.append((char) read());
+            c = peek();
+        }
+        c = skipSpaces();
+        int length = 0;
+        if (c == '"') {
+            read();
+            for (c = read(); c >= 0 && c != '"' && c != '\n'; c = read()) {
+                if (c == '\\') {
+                    c = read();
+                    if (c < 0) break;
+                }
+                if (length == value.length) {
+                    value = Arrays.copyOf(value, length * 2);
+                }
+                value[length++] = (byte) c;
+            }
+        }
+        while (c >= 0 && c != ']' && c != '\n') {
+            c = read();
+        }
+        if (token.length() > 0) {
+            game.addTag(token.toString(), new String(value, 0, length, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * readToken reads a token of the move text into token
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    private void readToken() throws IOException {
+        token.setLength(0);
+        int c = peek();
+        while (c > ' ' && c != '{' && c != '}' && c != '(' && c != ')' && c != ';' && c != '[' && c != ']'
+                && c != '$') {
+            token.append((char) read());
+            c = peek();
+        }
+        if (token.length() == 0) {
+            read();
+        }
+    }
+
+    /**
+     * isResult checks for a game result token
+     *
+     * @param text the token
+     * @return true for "1-0", "0-1", "1/2-1/2" and "*"
+     */
+    private static boolean isResult(CharSequence text) {
+        switch (text.length()) {
+            case 1: return text.charAt(0) == '*';
+            case 3: return text.charAt(1) == '-' && (text.charAt(0) == '1' && text.charAt(2) == '0'
+                    || text.charAt(0) == '0' && text.charAt(2) == '1');
+            case 7: return "1/2-1/2".contentEquals(text);
+            default: return false;
+        }
+    }
+
+    /**
+     * skipMoveNumber finds where the move starts in a token that may begin with a move number, such as "12." or
+     * "12...e5"
+     *
+     * @param text the token
+     * @return position of the move, or the length of the token if it holds no move
+     */
+    private static int skipMoveNumber(CharSequence text) {
+        int i = 0;
+        while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') i++;
+        if (i < text.length() && text.charAt(i) != '.') {
+            return 0;
+        }
+        while (i < text.length() && text.charAt(i) == '.') i++;
+        return i;
+    }
+
+    /**
+     * skipVariation skips a variation after its opening parenthesis, with any variations and comments in it
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = read();
+            if (c < 0) return;
+            if (c == '(') depth++;
+            else if (c == ')') depth--;
+            else if (c == '{') skipPast('}');
+            else if (c == ';') skipLine();
+        }
+    }
+
+    /**
+     * skipPast skips up to and including a character
+     *
+     * @param end the character
+     * @throws IOException if the channel cannot be read
+     */
+    private void skipPast(char end) throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c >= 0 && c != end);
+    }
+
+    /**
+     * skipLine skips the rest of the line
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    private void skipLine() throws IOException {
+        skipPast('\n');
+    }
+
+    /**
+     * skipWhitespace skips spaces and line ends
+     *
+     * @return the next byte, not read yet, or -1 at the end of the file
+     * @throws IOException if the channel cannot be read
+     */
+    private int skipWhitespace() throws IOException {
+        int c = peek();
+        while (c >= 0 && c <= ' ') {
+            read();
+            c = peek();
+        }
+        return c;
+    }
+
+    /**
+     * skipSpaces skips spaces and tabs but not line ends
+     *
+     * @return the next byte, not read yet, or -1 at the end of the file
+     * @throws IOException if the channel cannot be read
+     */
+    private int skipSpaces() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\t') {
+            read();
+            c = peek();
+        }
+        return c;
+    }
+
+    /**
+     * peek looks at the next byte without reading it
+     *
+     * @return the byte from 0 to 255, or -1 at the end of the file
+     * @throws IOException if the channel cannot be read
+     */
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return bytes[position] & 0xFF;
+    }
+
+    /**
+     * read reads the next byte
+     *
+     * @return the byte from 0 to 255, or -1 at the end of the file
+     * @throws IOException if the channel cannot be read
+     */
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        int c = bytes[position++] & 0xFF;
+        lineStart = c == '\n';
+        return c;
+    }
+
+    /**
+     * fill reads the next bytes from the channel into the buffer
+     *
+     * @return true if there are bytes to read, false at the end of the file
+     * @throws IOException if the channel cannot be read
+     */
+    private boolean fill() throws IOException {
+        while (!ended) {
+            buffer.clear();
+            int count = channel.read(buffer);
+            if (count < 0) {
+                ended = true;
+            }
+            else if (count > 0) {
+                position = 0;
+                limit = count;
+                bytesRead += count;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * getGames gets the number of games read so far
+     *
+     * @return number of games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * getBytesRead gets the number of bytes read from the channel so far
+     *
+     * @return number of bytes
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * close closes the channel
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * main reads and replays every game of the files and prints what it found and how fast
+     *
+     * @param args command line arguments, see the class description
+     * @throws IOException if a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        boolean replay = true;
+        long games = 0;
+        long plies = 0;
+        long illegal = 0;
+        long bytes = 0;
+        long start = System.nanoTime();
+        PgnGame game = new PgnGame();
+        Board board = new Board();
+        for (String arg : args) {
+            if (arg.equals("--parse-only")) {
+                replay = false;
+                continue;
+            }
+            try (PgnReader reader = open(Paths.get(arg))) {
+                while (reader.next(game)) {
+                    games++;
+                    if (!replay) {
+                        plies += game.getSanCount();
+                    }
+                    else if (game.replay(board)) {
+                        plies += game.getPlies();
+                    }
+                    else {
+                        illegal++;
+                        plies += game.getPlies();
+                        System.out.println(arg + " game " + game.getNumber() + ": illegal move "
+                                + (game.getIllegalPly() < game.getSanCount() ? game.getSan(game.getIllegalPly()) : "")
+                                + " at ply " + (game.getIllegalPly() + 1));
+                    }
+                }
+                bytes += reader.getBytesRead();
+            }
+        }
+        double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+        System.out.println(String.format("%d games, %d moves, %d illegal games, %.2f s: %.0f games/s, %.0f moves/s, %.1f MB/s",
+                games, plies, illegal, seconds, games / seconds, plies / seconds, bytes / seconds / 1e6));
+    }
+}
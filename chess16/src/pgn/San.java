@@ -0,0 +1,274 @@
+package pgn;
+
+import pieces.Board;
+import pieces.Move;
+import pieces.MoveGenerator;
+import pieces.MoveList;
+import pieces.Piece;
+
+/**
+ * San reads and writes moves in Standard Algebraic Notation, the notation of PGN files: "e4", "Nbd7", "exd8=Q+",
+ * "O-O-O". A SAN move names the piece and the square it goes to, and only as much of the square it comes from
+ * as it takes to tell it apart from another piece of the same kind, so reading one means matching it against the
+ * moves of the pieces of that kind: each one that can reach the square and does not leave its king in check is a
+ * candidate, and there has to be exactly one.
+ *
+ * Reading is lenient about what PGN files in the wild contain: check and annotation marks ("+", "#", "!?") are
+ * ignored, castling may be written with zeros, captures may be written with ":" and promotions without "=" or
+ * with a lower-case piece letter.
+ * Nothing is allocated while reading.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public final class San {
+    /**
+     * piece letters by type, with a space for the pawn
+     */
+    private static final String PIECE_LETTERS = " NBRQK";
+
+    /**
+     * San constructor, not used since everything is static
+     */
+    private San() {
+    }
+
+    /**
+     * resolve finds the legal move a SAN move stands for
+     *
+     * @param board position the move is played in; not changed, apart from moves made and taken back to test
+     *              that the king is safe
+     * @param text text holding the move
+     * @param start position of the first character of the move
+     * @param end position after the last character of the move
+     * @return encoded legal move, or Move.NONE if the text is not a legal move or could be more than one
+     */
+    public static int resolve(Board board, CharSequence text, int start, int end) {
+        while (end > start && isSuffix(text.charAt(end - 1))) {
+            end--;
+        }
+        if (end - start < 2) {
+            return Move.NONE;
+        }
+
+        boolean white = board.isWhiteToMove();
+        char first = text.charAt(start);
+        if (first == 'O' || first == '0') {
+            int castle = castleSide(text, start, end);
+            int from = board.getKingSquare(white);
+            if (castle == 0 || from < 0) {
+                return Move.NONE;
+            }
+            int move = board.getPiece(from).resolveMove(board, Move.of(from, from + 2 * castle));
+            return Move.has(move, Move.CASTLE) && isLegal(board, move) ? move : Move.NONE;
+        }
+
+        int type = PIECE_LETTERS.indexOf(first);
+        if (type > 0) {
+            start++;
+        }
+        else {
+            type = Board.PAWN;
+        }
+
+        int promotion = 0;
+        int last = end - 1;
+        // the last character of a move is a rank unless it names the piece a pawn promotes to, in either case
+        char promoted = Character.toUpperCase(text.charAt(last));
+        if (type == Board.PAWN && PIECE_LETTERS.indexOf(promoted) > 0) {
+            promotion = PIECE_LETTERS.indexOf(promoted);
+            if (promotion == Board.KING) {
+                return Move.NONE;
+            }
+            last--;
+            if (last >= start && text.charAt(last) == '=') {
+                last--;
+            }
+        }
+        if (last - 1 < start) {
+            return Move.NONE;
+        }
+        int to = Move.parseSquare(text, last - 1);
+        if (to < 0) {
+            return Move.NONE;
+        }
+
+        int fromFile = -1;
+        int fromRank = -1;
+        boolean capture = false;
+        for (int i = start; i < last - 1; i++) {
+            char c = text.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            }
+            else if (c >= '1' && c <= '8') {
+                fromRank = '8' - c;
+            }
+            else if (c == 'x' || c == ':') {
+                capture = true;
+            }
+            else if (c != '-') {
+                return Move.NONE;
+            }
+        }
+        // a pawn capture always names the file it comes from, so e4 can never stand for dxe4
+        boolean pawnMayCapture = type != Board.PAWN || (capture && fromFile >= 0);
+
+        int found = Move.NONE;
+        for (int n = board.getPieceCount(type, white) - 1; n >= 0; n--) {
+            int from = board.getPieceSquare(type, white, n);
+            if ((fromFile >= 0 && (from & 7) != fromFile) || (fromRank >= 0 && (from >>> 3) != fromRank)) {
+                continue;
+            }
+            int move = board.getPiece(from).resolveMove(board, Move.of(from, to, promotion, 0));
+            // a king stepping two squares is castling, which is only ever written O-O or O-O-O
+            if (move == Move.NONE || Move.promotion(move) != promotion || Move.has(move, Move.CASTLE)
+                    || (Move.has(move, Move.CAPTURE) && !pawnMayCapture) || !isLegal(board, move)) {
+                continue;
+            }
+            if (found != Move.NONE) {
+                return Move.NONE;
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    /**
+     * isLegal checks that a move the piece can make does not leave its own king in check
+     *
+     * @param board position the move is played in; the move is made and taken back
+     * @param move encoded move, resolved by its piece
+     * @return true if the king is safe after it
+     */
+    private static boolean isLegal(Board board, int move) {
+        boolean white = board.isWhiteToMove();
+        board.makeMove(move);
+        boolean legal = !board.isInCheck(white);
+        board.unmakeMove();
+        return legal;
+    }
+
+    /**
+     * resolve finds the legal move a SAN move stands for
+     *
+     * @param board position the move is played in; not changed
+     * @param san the move
+     * @return encoded legal move, or Move.NONE if the text is not a legal move or could be more than one
+     */
+    public static int resolve(Board board, CharSequence san) {
+        return resolve(board, san, 0, san.length());
+    }
+
+    /**
+     * isSuffix checks for a character that may follow a SAN move without changing it
+     *
+     * @param c the character
+     * @return true for check, mate and annotation marks
+     */
+    private static boolean isSuffix(char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    /**
+     * castleSide reads a castling move
+     *
+     * @param text text holding the move
+     * @param start position of the first character
+     * @param end position after the last character
+     * @return 1 for king side, -1 for queen side, 0 if it is not a castling move
+     */
+    private static int castleSide(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length != 3 && length != 5) {
+            return 0;
+        }
+        char o = text.charAt(start);
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) != ((i - start) % 2 == 0 ? o : '-')) {
+                return 0;
+            }
+        }
+        return length == 3 ? 1 : -1;
+    }
+
+    /**
+     * write writes a legal move in SAN, with "+" or "#" when it gives check or mate
+     *
+     * @param board position the move is played in; the move is made and taken back to test for check
+     * @param move encoded legal move
+     * @param moves scratch list the legal moves are generated into
+     * @param out StringBuilder to append to
+     * @return out
+     */
+    public static StringBuilder write(Board board, int move, MoveList moves, StringBuilder out) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        Piece piece = board.getPiece(from);
+        int type = piece.getType();
+        boolean capture = Move.has(move, Move.CAPTURE) || Move.has(move, Move.EN_PASSANT);
+
+        if (Move.has(move, Move.CASTLE)) {
+            out.append(to > from ? "O-O" : "O-O-O");
+        }
+        else if (type == Board.PAWN) {
+            if (capture) {
+                out.append((char) ('a' + (from & 7))).append('x');
+            }
+            appendSquare(out, to);
+            if (Move.promotion(move) != 0) {
+                out.append('=').append(PIECE_LETTERS.charAt(Move.promotion(move)));
+            }
+        }
+        else {
+            out.append(PIECE_LETTERS.charAt(type));
+            int count = MoveGenerator.generate(board, moves);
+            boolean ambiguous = false;
+            boolean sameFile = false;
+            boolean sameRank = false;
+            for (int i = 0; i < count; i++) {
+                int other = moves.get(i);
+                int otherFrom = Move.from(other);
+                if (otherFrom == from || Move.to(other) != to || board.getPiece(otherFrom).getType() != type) {
+                    continue;
+                }
+                ambiguous = true;
+                sameFile |= (otherFrom & 7) == (from & 7);
+                sameRank |= (otherFrom >>> 3) == (from >>> 3);
+            }
+            if (ambiguous) {
+                if (!sameFile) {
+                    out.append((char) ('a' + (from & 7)));
+                }
+                else if (!sameRank) {
+                    out.append((char) ('8' - (from >>> 3)));
+                }
+                else {
+                    appendSquare(out, from);
+                }
+            }
+            if (capture) {
+                out.append('x');
+            }
+            appendSquare(out, to);
+        }
+
+        board.makeMove(move);
+        if (board.isInCheck(board.isWhiteToMove())) {
+            out.append(MoveGenerator.generate(board, moves) == 0 ? '#' : '+');
+        }
+        board.unmakeMove();
+        return out;
+    }
+
+    /**
+     * appendSquare appends the name of a square
+     *
+     * @param out StringBuilder to append to
+     * @param square square index
+     */
+    private static void appendSquare(StringBuilder out, int square) {
+        out.append((char) ('a' + (square & 7))).append((char) ('8' - (square >>> 3)));
+    }
+}
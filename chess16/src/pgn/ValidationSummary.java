@@ -0,0 +1,166 @@
+package pgn;
+
+/**
+ * ValidationSummary adds up the verdicts of a batch of games and how long they took.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class ValidationSummary {
+    /**
+     * games validated
+     */
+    private long games;
+
+    /**
+     * games with an illegal move
+     */
+    private long illegalGames;
+
+    /**
+     * moves played
+     */
+    private long plies;
+
+    /**
+     * games ending in checkmate
+     */
+    private long checkmates;
+
+    /**
+     * games ending in stalemate
+     */
+    private long stalemates;
+
+    /**
+     * bytes of PGN read
+     */
+    private long bytes;
+
+    /**
+     * time taken in nanoseconds
+     */
+    private long nanos;
+
+    /**
+     * threads the games were validated on
+     */
+    private int threads;
+
+    /**
+     * add counts one verdict
+     *
+     * @param verdict the verdict
+     */
+    void add(GameVerdict verdict) {
+        games++;
+        plies += verdict.getPlies();
+        if (!verdict.isLegal()) {
+            illegalGames++;
+        }
+        else if (verdict.getEnding() == GameVerdict.CHECKMATE) {
+            checkmates++;
+        }
+        else if (verdict.getEnding() == GameVerdict.STALEMATE) {
+            stalemates++;
+        }
+    }
+
+    /**
+     * finish records what the whole batch took
+     *
+     * @param bytes bytes of PGN read
+     * @param nanos time taken in nanoseconds
+     * @param threads threads the games were validated on
+     */
+    void finish(long bytes, long nanos, int threads) {
+        this.bytes += bytes;
+        this.nanos += nanos;
+        this.threads = threads;
+    }
+
+    /**
+     * getGames gets the number of games validated
+     *
+     * @return number of games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * getIllegalGames gets the number of games with an illegal move
+     *
+     * @return number of games
+     */
+    public long getIllegalGames() {
+        return illegalGames;
+    }
+
+    /**
+     * getPlies gets the number of moves played
+     *
+     * @return number of moves
+     */
+    public long getPlies() {
+        return plies;
+    }
+
+    /**
+     * getCheckmates gets the number of legal games ending in checkmate
+     *
+     * @return number of games
+     */
+    public long getCheckmates() {
+        return checkmates;
+    }
+
+    /**
+     * getStalemates gets the number of legal games ending in stalemate
+     *
+     * @return number of games
+     */
+    public long getStalemates() {
+        return stalemates;
+    }
+
+    /**
+     * getMillis gets the time taken
+     *
+     * @return milliseconds
+     */
+    public long getMillis() {
+        return nanos / 1000000;
+    }
+
+    /**
+     * getGamesPerSecond gets the throughput in games
+     *
+     * @return games per second
+     */
+    public double getGamesPerSecond() {
+        return nanos > 0 ? games * 1e9 / nanos : 0;
+    }
+
+    /**
+     * getPliesPerSecond gets the throughput in moves
+     *
+     * @return moves per second
+     */
+    public double getPliesPerSecond() {
+        return nanos > 0 ? plies * 1e9 / nanos : 0;
+    }
+
+    /**
+     * toString writes the totals and throughput on one line
+     *
+     * @return text of the summary
+     */
+    @Override
+    public String toString() {
+        return String.format("%d games (%d illegal, %d checkmates, %d stalemates), %d plies in %d ms on %d threads: "
+                        + "%.0f games/s, %.0f plies/s, %.1f MB/s", games, illegalGames, checkmates, stalemates, plies,
+                getMillis(), threads, getGamesPerSecond(), getPliesPerSecond(), nanos > 0 ? bytes * 1e3 / nanos : 0);
+    }
+}
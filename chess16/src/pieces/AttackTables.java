@@ -0,0 +1,135 @@
+package pieces;
+
+/**
+ * AttackTables precomputes the squares attacked by knights, kings and pawns from every square,
+ * and the squares between and along the line through every pair of squares.
+ * The tables are filled once when the class is loaded, so an attack query is a single array lookup
+ * instead of a series of bounds checks.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public final class AttackTables {
+    /**
+     * squares attacked by a knight on each square
+     */
+    private static final long[] KNIGHT = new long[64];
+
+    /**
+     * squares attacked by a king on each square
+     */
+    private static final long[] KING = new long[64];
+
+    /**
+     * squares attacked by a white pawn on each square
+     */
+    private static final long[] WHITE_PAWN = new long[64];
+
+    /**
+     * squares attacked by a black pawn on each square
+     */
+    private static final long[] BLACK_PAWN = new long[64];
+
+    /**
+     * squares strictly between two squares on the same rank, file or diagonal, empty if they are not lined up
+     */
+    private static final long[][] BETWEEN = new long[64][64];
+
+    /**
+     * every square of the rank, file or diagonal through two squares, empty if they are not lined up
+     */
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int from = 0; from < 64; from++) {
+            long rookRays = Bitboards.rookAttacks(from, 0L);
+            long bishopRays = Bitboards.bishopAttacks(from, 0L);
+            for (int to = 0; to < 64; to++) {
+                long b = Bitboards.bit(to);
+                if ((rookRays & b) != 0) {
+                    BETWEEN[from][to] = Bitboards.rookAttacks(from, b) & Bitboards.rookAttacks(to, Bitboards.bit(from));
+                    LINE[from][to] = (rookRays & Bitboards.rookAttacks(to, 0L)) | Bitboards.bit(from) | b;
+                }
+                else if ((bishopRays & b) != 0) {
+                    BETWEEN[from][to] = Bitboards.bishopAttacks(from, b) & Bitboards.bishopAttacks(to, Bitboards.bit(from));
+                    LINE[from][to] = (bishopRays & Bitboards.bishopAttacks(to, 0L)) | Bitboards.bit(from) | b;
+                }
+            }
+        }
+        for (int square = 0; square < 64; square++) {
+            long b = Bitboards.bit(square);
+            KNIGHT[square] = ((b << 17) & Bitboards.NOT_FILE_A) | ((b << 15) & Bitboards.NOT_FILE_H)
+                    | ((b << 10) & Bitboards.NOT_FILE_AB) | ((b << 6) & Bitboards.NOT_FILE_GH)
+                    | ((b >>> 17) & Bitboards.NOT_FILE_H) | ((b >>> 15) & Bitboards.NOT_FILE_A)
+                    | ((b >>> 10) & Bitboards.NOT_FILE_GH) | ((b >>> 6) & Bitboards.NOT_FILE_AB);
+
+            long sides = ((b << 1) & Bitboards.NOT_FILE_A) | ((b >>> 1) & Bitboards.NOT_FILE_H);
+            long row = b | sides;
+            KING[square] = sides | (row << 8) | (row >>> 8);
+
+            // white pawns move towards rank 8 (lower square indices), black pawns towards rank 1
+            WHITE_PAWN[square] = ((b >>> 9) & Bitboards.NOT_FILE_H) | ((b >>> 7) & Bitboards.NOT_FILE_A);
+            BLACK_PAWN[square] = ((b << 7) & Bitboards.NOT_FILE_H) | ((b << 9) & Bitboards.NOT_FILE_A);
+        }
+    }
+
+    /**
+     * AttackTables is a static lookup class and is never instantiated
+     */
+    private AttackTables() {
+    }
+
+    /**
+     * knightAttacks gets every square a knight on the given square attacks
+     *
+     * @param square square of the knight
+     * @return mask of attacked squares
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT[square];
+    }
+
+    /**
+     * kingAttacks gets every square a king on the given square attacks
+     *
+     * @param square square of the king
+     * @return mask of attacked squares
+     */
+    public static long kingAttacks(int square) {
+        return KING[square];
+    }
+
+    /**
+     * pawnAttacks gets the two diagonal squares a pawn on the given square attacks
+     *
+     * @param square square of the pawn
+     * @param isWhite true if the pawn is white
+     * @return mask of attacked squares
+     */
+    public static long pawnAttacks(int square, boolean isWhite) {
+        return isWhite ? WHITE_PAWN[square] : BLACK_PAWN[square];
+    }
+
+    /**
+     * between gets the squares strictly between two squares on the same rank, file or diagonal
+     *
+     * @param from first square
+     * @param to second square
+     * @return mask of the squares in between, 0 if the squares are not lined up or are next to each other
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * line gets the whole rank, file or diagonal running through two squares, edge to edge
+     *
+     * @param from first square
+     * @param to second square
+     * @return mask of the line, 0 if the squares are not lined up
+     */
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+}
@@ -0,0 +1,142 @@
+package pieces;
+
+/**
+ * Bitboards holds the static helpers used to work with 64-bit square masks.
+ * Squares are numbered the same way as the Board's 2D array: square = rank * 8 + file,
+ * so a8 is square 0, h8 is square 7, a1 is square 56 and h1 is square 63.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public final class Bitboards {
+    /**
+     * mask of every square on the a file
+     */
+    public static final long FILE_A = 0x0101010101010101L;
+
+    /**
+     * mask of every square on the h file
+     */
+    public static final long FILE_H = FILE_A << 7;
+
+    /**
+     * mask of every square except the ones on the a file
+     */
+    public static final long NOT_FILE_A = ~FILE_A;
+
+    /**
+     * mask of every square except the ones on the h file
+     */
+    public static final long NOT_FILE_H = ~FILE_H;
+
+    /**
+     * mask of every square except the ones on the a and b files
+     */
+    public static final long NOT_FILE_AB = ~(FILE_A | (FILE_A << 1));
+
+    /**
+     * mask of every square except the ones on the g and h files
+     */
+    public static final long NOT_FILE_GH = ~(FILE_H | (FILE_H >>> 1));
+
+    /**
+     * Bitboards is a static helper class and is never instantiated
+     */
+    private Bitboards() {
+    }
+
+    /**
+     * square converts a rank and file of the 2D array into a square index
+     *
+     * @param rank the row of the 2D array
+     * @param file the column of the 2D array
+     * @return square index between 0 and 63
+     */
+    public static int square(int rank, int file) {
+        return (rank << 3) | file;
+    }
+
+    /**
+     * rankOf gets the row of the 2D array that a square is on
+     *
+     * @param square square index
+     * @return the row of the 2D array
+     */
+    public static int rankOf(int square) {
+        return square >>> 3;
+    }
+
+    /**
+     * fileOf gets the column of the 2D array that a square is on
+     *
+     * @param square square index
+     * @return the column of the 2D array
+     */
+    public static int fileOf(int square) {
+        return square & 7;
+    }
+
+    /**
+     * bit gets the mask containing only the given square
+     *
+     * @param square square index
+     * @return mask with a single bit set
+     */
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * rookAttacks gets every square a rook on the given square attacks, stopping at the first
+     * occupied square in each direction. This walks the rays one square at a time and is only used
+     * to build and verify the Magics tables; use Magics.rookAttacks everywhere else.
+     *
+     * @param square square of the rook
+     * @param occupied mask of every occupied square
+     * @return mask of attacked squares
+     */
+    public static long rookAttacks(int square, long occupied) {
+        return ray(square, occupied, 1, 0) | ray(square, occupied, -1, 0)
+                | ray(square, occupied, 0, 1) | ray(square, occupied, 0, -1);
+    }
+
+    /**
+     * bishopAttacks gets every square a bishop on the given square attacks, stopping at the first
+     * occupied square in each direction. This walks the rays one square at a time and is only used
+     * to build and verify the Magics tables; use Magics.bishopAttacks everywhere else.
+     *
+     * @param square square of the bishop
+     * @param occupied mask of every occupied square
+     * @return mask of attacked squares
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        return ray(square, occupied, 1, 1) | ray(square, occupied, 1, -1)
+                | ray(square, occupied, -1, 1) | ray(square, occupied, -1, -1);
+    }
+
+    /**
+     * ray walks from a square in one direction until it leaves the board or hits a piece
+     *
+     * @param square starting square
+     * @param occupied mask of every occupied square
+     * @param rankStep change in row for every step
+     * @param fileStep change in column for every step
+     * @return mask of the squares walked over, including the blocking square
+     */
+    private static long ray(int square, long occupied, int rankStep, int fileStep) {
+        long attacks = 0L;
+        int rank = rankOf(square) + rankStep;
+        int file = fileOf(square) + fileStep;
+        while (rank >= 0 && rank < 8 && file >= 0 && file < 8) {
+            long b = bit(square(rank, file));
+            attacks |= b;
+            if ((occupied & b) != 0) {
+                break;
+            }
+            rank += rankStep;
+            file += fileStep;
+        }
+        return attacks;
+    }
+}
@@ -12,54 +12,221 @@ File: Column (up down), letters
 * */
 package pieces;
 
-import java.util.HashMap;
+import java.util.Arrays;
 /**
  * Board is a class which lays out the fields/methods for a chess board.
+ * Alongside the 2D array of pieces it keeps one 64-bit mask per piece type per color plus
+ * occupancy masks, so attack queries are a few mask operations instead of walks over the array.
+ * It also keeps a list of squares for every piece type and color, and both king squares, so finding a
+ * piece never needs a scan of the board.
  *
  * @author Prathik Lolla
  * @author Khush Tated
  *
  */
 public class Board {
+    /**
+     * type index of a pawn
+     */
+    public static final int PAWN = 0;
+
+    /**
+     * type index of a knight
+     */
+    public static final int KNIGHT = 1;
+
+    /**
+     * type index of a bishop
+     */
+    public static final int BISHOP = 2;
+
+    /**
+     * type index of a rook
+     */
+    public static final int ROOK = 3;
+
+    /**
+     * type index of a queen
+     */
+    public static final int QUEEN = 4;
+
+    /**
+     * type index of a king
+     */
+    public static final int KING = 5;
+
     /**
      * 2D Array of Piece objects
      */
     public Piece[][] board;
 
     /**
-     * The characters in columnMappings are mapped to an integer representing the column
+     * One mask per piece type per color. White pieces use indices 0-5 and black pieces use 6-11.
+     */
+    long[] bitboards = new long[12];
+
+    /**
+     * Mask of every square occupied by white pieces
+     */
+    long whiteOccupancy;
+
+    /**
+     * Mask of every square occupied by black pieces
+     */
+    long blackOccupancy;
+
+    /**
+     * most pieces of one type and color a board can list, enough for every pawn to promote to the same piece
+     */
+    static final int MAX_PIECES = 16;
+
+    /**
+     * Squares of the pieces of each type and color, indexed the same way as bitboards. Only the first
+     * pieceCounts entries of each list are used and the order changes as pieces come and go.
+     */
+    private final int[][] pieceSquares = new int[12][MAX_PIECES];
+
+    /**
+     * number of pieces in each list of pieceSquares
+     */
+    private final int[] pieceCounts = new int[12];
+
+    /**
+     * position of the piece on each square inside its list of pieceSquares, so it can be removed in one step
+     */
+    private final int[] listIndex = new int[64];
+
+    /**
+     * square of the white king (index 0) and black king (index 1), or -1 if the king is not on the board
+     */
+    private final int[] kingSquares = {-1, -1};
+
+    /**
+     * castling right bit for white castling on the king's side
+     */
+    public static final int WHITE_KING_SIDE = 1;
+
+    /**
+     * castling right bit for white castling on the queen's side
+     */
+    public static final int WHITE_QUEEN_SIDE = 2;
+
+    /**
+     * castling right bit for black castling on the king's side
+     */
+    public static final int BLACK_KING_SIDE = 4;
+
+    /**
+     * castling right bit for black castling on the queen's side
+     */
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    /**
+     * Castling rights that survive a move touching each square. Moving the king or a rook off its
+     * starting square, or taking a rook on it, clears the matching rights.
+     */
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_MASK, 15);
+        CASTLING_MASK[0] = 15 & ~BLACK_QUEEN_SIDE;
+        CASTLING_MASK[4] = 15 & ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        CASTLING_MASK[7] = 15 & ~BLACK_KING_SIDE;
+        CASTLING_MASK[56] = 15 & ~WHITE_QUEEN_SIDE;
+        CASTLING_MASK[60] = 15 & ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        CASTLING_MASK[63] = 15 & ~WHITE_KING_SIDE;
+    }
+
+    /**
+     * true if it is white's turn to move
+     */
+    boolean whiteToMove = true;
+
+    /**
+     * castling rights still available, a combination of the *_SIDE bits
+     */
+    int castlingRights;
+
+    /**
+     * square a pawn can move to when taking en passant, or -1 if the last move was not a double push
+     */
+    int enPassantSquare = -1;
+
+    /**
+     * plies since the last capture or pawn move, for the fifty-move rule
+     */
+    private int halfmoveClock;
+
+    /**
+     * number of the current full move, starting at 1 and going up after each black move
+     */
+    private int fullmoveNumber = 1;
+
+    /**
+     * Zobrist key of the position, kept up to date by every change to the board. See Zobrist.
+     */
+    long key;
+
+    /**
+     * sum of the middlegame values of every piece, white minus black. See PieceSquareTables.
+     */
+    private int middlegameScore;
+
+    /**
+     * sum of the endgame values of every piece, white minus black
+     */
+    private int endgameScore;
+
+    /**
+     * game phase of the pieces on the board, MAX_PHASE at the start and falling as pieces come off
+     */
+    private int phase;
+
+    /**
+     * moves made with makeMove that have not been taken back, most recent last
+     */
+    private int[] moveStack = new int[256];
+
+    /**
+     * packed undo record of each move: castling rights in bits 0-3, en passant square + 1 in bits 4-10,
+     * bitboard index + 1 of the captured piece in bits 11-14 (0 if nothing was taken) and bitboard index
+     * of the moving piece in bits 15-18. Pieces are shared, so an index is all that is needed to put one back.
+     */
+    private int[] undoStack = new int[256];
+
+    /**
+     * halfmove clock before each move, kept whole since it can run to any length
+     */
+    private int[] clockStack = new int[256];
+
+    /**
+     * key of the position before each move, used to spot repeated positions
+     */
+    private long[] keyStack = new long[256];
+
+    /**
+     * number of moves on the undo stacks
+     */
+    private int ply;
+
+    /**
+     * squares in each king's map: the king's square and the squares around it the king could step to.
+     * Index 0 is the white king and index 1 is the black king.
      */
-    HashMap<Character, Integer> columnMappings;
+    private final long[] kingMaps = new long[2];
 
     /**
-     * The integers in rowMappings are mapped to another integer representing thw row
+     * square of an enemy piece attacking each square of a king's map, or -1 if nothing attacks it.
+     * The white king uses indices 0-63 and the black king uses 64-127.
      */
-    HashMap<Integer, Integer> rowMappings;
+    private final int[] kingMapAttackers = new int[128];
 
     /**
      * Board constructor
      */
     public Board(){
         board = new Piece[8][8];
-        columnMappings = new HashMap<>();
-        columnMappings.put('a', 0);
-        columnMappings.put('b', 1);
-        columnMappings.put('c', 2);
-        columnMappings.put('d', 3);
-        columnMappings.put('e', 4);
-        columnMappings.put('f', 5);
-        columnMappings.put('g', 6);
-        columnMappings.put('h', 7);
-
-        rowMappings = new HashMap<>();
-        rowMappings.put(8, 0);
-        rowMappings.put(7, 1);
-        rowMappings.put(6, 2);
-        rowMappings.put(5, 3);
-        rowMappings.put(4, 4);
-        rowMappings.put(3, 5);
-        rowMappings.put(2, 6);
-        rowMappings.put(1, 7);
+        Arrays.fill(kingMapAttackers, -1);
     }
     //Should we be returning the piece object or a string?
     /**
@@ -79,81 +246,706 @@ public class Board {
     public Piece[][] getBoard() {
         return this.board;
     }
+    /**
+     * setPiece puts a piece on a square (or clears it when piece is null) and keeps the bitboards in step
+     * with the 2D array. Every change to the board should go through this method.
+     *
+     * @param rank the row of the 2D array
+     * @param file the column of the 2D array
+     * @param piece the piece to place, or null to empty the square
+     */
+    public void setPiece(int rank, int file, Piece piece) {
+        int square = Bitboards.square(rank, file);
+        long mask = Bitboards.bit(square);
+        Piece old = board[rank][file];
+        if (old != null) {
+            bitboards[indexOf(old)] &= ~mask;
+            if (old.getColor()) whiteOccupancy &= ~mask;
+            else blackOccupancy &= ~mask;
+            removeFromList(indexOf(old), square);
+            key ^= Zobrist.piece(indexOf(old), square);
+            removeScore(indexOf(old), square);
+        }
+        board[rank][file] = piece;
+        if (piece != null) {
+            bitboards[indexOf(piece)] |= mask;
+            if (piece.getColor()) whiteOccupancy |= mask;
+            else blackOccupancy |= mask;
+            addToList(indexOf(piece), square);
+            key ^= Zobrist.piece(indexOf(piece), square);
+            addScore(indexOf(piece), square);
+        }
+    }
+
+    /**
+     * addScore adds a piece on a square to the running evaluation sums
+     *
+     * @param index bitboard index of the piece
+     * @param square square index
+     */
+    private void addScore(int index, int square) {
+        middlegameScore += PieceSquareTables.middlegame(index, square);
+        endgameScore += PieceSquareTables.endgame(index, square);
+        phase += PieceSquareTables.phase(index);
+    }
+
+    /**
+     * removeScore takes a piece on a square out of the running evaluation sums
+     *
+     * @param index bitboard index of the piece
+     * @param square square index
+     */
+    private void removeScore(int index, int square) {
+        middlegameScore -= PieceSquareTables.middlegame(index, square);
+        endgameScore -= PieceSquareTables.endgame(index, square);
+        phase -= PieceSquareTables.phase(index);
+    }
+
+    /**
+     * addToList records a square in the piece list of a bitboard index
+     *
+     * @param index bitboard index of the piece
+     * @param square square index
+     */
+    private void addToList(int index, int square) {
+        int count = pieceCounts[index]++;
+        pieceSquares[index][count] = square;
+        listIndex[square] = count;
+        if (index % 6 == KING) {
+            kingSquares[index / 6] = square;
+        }
+    }
+
+    /**
+     * removeFromList drops a square from the piece list of a bitboard index by moving the last entry into its slot
+     *
+     * @param index bitboard index of the piece
+     * @param square square index
+     */
+    private void removeFromList(int index, int square) {
+        int last = pieceSquares[index][--pieceCounts[index]];
+        int slot = listIndex[square];
+        pieceSquares[index][slot] = last;
+        listIndex[last] = slot;
+        if (index % 6 == KING && kingSquares[index / 6] == square) {
+            kingSquares[index / 6] = pieceCounts[index] > 0 ? pieceSquares[index][0] : -1;
+        }
+    }
+
+    /**
+     * setPiece puts a piece on a square (or clears it when piece is null)
+     *
+     * @param square square index, see Bitboards
+     * @param piece the piece to place, or null to empty the square
+     */
+    public void setPiece(int square, Piece piece) {
+        setPiece(Bitboards.rankOf(square), Bitboards.fileOf(square), piece);
+    }
+
+    /**
+     * makeMove plays a move on the board. The move must already be checked by the moving piece's
+     * resolveMove, which fills in the castle, en passant and double push flags. Every makeMove can be
+     * taken back with unmakeMove, so a move can be tried and undone without copying the board.
+     *
+     * @param move encoded move
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        Piece moving = getPiece(from);
+        int captureSquare = Move.has(move, Move.EN_PASSANT) ? (moving.getColor() ? to + 8 : to - 8) : to;
+        Piece captured = getPiece(captureSquare);
+
+        if (ply == moveStack.length) {
+            growStacks();
+        }
+        moveStack[ply] = move;
+        keyStack[ply] = key;
+        undoStack[ply] = castlingRights | ((enPassantSquare + 1) << 4)
+                | ((captured != null ? indexOf(captured) + 1 : 0) << 11) | (indexOf(moving) << 15);
+        clockStack[ply] = halfmoveClock;
+        ply++;
+        halfmoveClock = captured != null || moving.getType() == PAWN ? 0 : halfmoveClock + 1;
+        if (!moving.getColor()) {
+            fullmoveNumber++;
+        }
+
+        if (captured != null) {
+            setPiece(captureSquare, null);
+        }
+        setPiece(from, null);
+        setPiece(to, Move.promotion(move) != 0 ? Piece.of(Move.promotion(move), moving.getColor()) : moving);
+        if (Move.has(move, Move.CASTLE)) {
+            // king's side: the rook jumps from the corner next to the king, queen's side: from the far corner
+            int rookFrom = to > from ? to + 1 : to - 2;
+            int rookTo = to > from ? to - 1 : to + 1;
+            Piece rook = getPiece(rookFrom);
+            setPiece(rookFrom, null);
+            setPiece(rookTo, rook);
+        }
+        setState(!whiteToMove, castlingRights & CASTLING_MASK[from] & CASTLING_MASK[to],
+                Move.has(move, Move.DOUBLE_PUSH) ? (from + to) >> 1 : -1);
+    }
+
+    /**
+     * unmakeMove takes back the last move made with makeMove and restores the captured piece,
+     * castling rights, en passant square and side to move
+     */
+    public void unmakeMove() {
+        ply--;
+        int move = moveStack[ply];
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int undo = undoStack[ply];
+        int capturedIndex = (undo >>> 11) & 15;
+        Piece moving = pieceFor((undo >>> 15) & 15);
+        Piece captured = capturedIndex != 0 ? pieceFor(capturedIndex - 1) : null;
+
+        setPiece(to, null);
+        setPiece(from, moving);
+        if (Move.has(move, Move.CASTLE)) {
+            int rookFrom = to > from ? to + 1 : to - 2;
+            int rookTo = to > from ? to - 1 : to + 1;
+            Piece rook = getPiece(rookTo);
+            setPiece(rookTo, null);
+            setPiece(rookFrom, rook);
+        }
+        if (captured != null) {
+            setPiece(Move.has(move, Move.EN_PASSANT) ? (moving.getColor() ? to + 8 : to - 8) : to, captured);
+        }
+        halfmoveClock = clockStack[ply];
+        if (!moving.getColor()) {
+            fullmoveNumber--;
+        }
+        setState(!whiteToMove, undo & 15, ((undo >>> 4) & 127) - 1);
+    }
+
+    /**
+     * makeNullMove passes the turn to the other side without moving a piece. Search uses it to ask whether the
+     * side to move is so far ahead that even giving the opponent a free move does not help them. It is taken back
+     * with unmakeNullMove, not unmakeMove. The undo record names a pawn as the moving piece, so isRepetition never
+     * looks past a null move.
+     */
+    public void makeNullMove() {
+        if (ply == moveStack.length) {
+            growStacks();
+        }
+        moveStack[ply] = Move.NONE;
+        keyStack[ply] = key;
+        undoStack[ply] = castlingRights | ((enPassantSquare + 1) << 4) | (PAWN << 15);
+        clockStack[ply] = halfmoveClock;
+        ply++;
+        setState(!whiteToMove, castlingRights, -1);
+    }
+
+    /**
+     * unmakeNullMove takes back a move made with makeNullMove
+     */
+    public void unmakeNullMove() {
+        ply--;
+        int undo = undoStack[ply];
+        halfmoveClock = clockStack[ply];
+        setState(!whiteToMove, undo & 15, ((undo >>> 4) & 127) - 1);
+    }
+
+    /**
+     * setPositionState sets everything about a position besides the pieces, for loading a position that was
+     * not reached by moves on this board
+     *
+     * @param white true if white is to move
+     * @param rights castling rights, a combination of the *_SIDE bits
+     * @param enPassant en passant square, or -1 if there is none
+     * @param halfmoves plies since the last capture or pawn move
+     * @param fullmoves number of the current full move
+     */
+    void setPositionState(boolean white, int rights, int enPassant, int halfmoves, int fullmoves) {
+        setState(white, rights, enPassant);
+        halfmoveClock = halfmoves;
+        fullmoveNumber = fullmoves;
+    }
+
+    /**
+     * setState changes the side to move, castling rights and en passant square and XORs the changes into the key
+     *
+     * @param white true if white is to move
+     * @param rights castling rights, a combination of the *_SIDE bits
+     * @param enPassant en passant square, or -1 if there is none
+     */
+    private void setState(boolean white, int rights, int enPassant) {
+        key ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(rights)
+                ^ Zobrist.enPassant(enPassantSquare) ^ Zobrist.enPassant(enPassant);
+        if (white != whiteToMove) {
+            key ^= Zobrist.blackToMove();
+        }
+        whiteToMove = white;
+        castlingRights = rights;
+        enPassantSquare = enPassant;
+    }
+
+    /**
+     * growStacks doubles the size of the undo stacks when a game gets long
+     */
+    private void growStacks() {
+        int size = moveStack.length * 2;
+        moveStack = Arrays.copyOf(moveStack, size);
+        undoStack = Arrays.copyOf(undoStack, size);
+        keyStack = Arrays.copyOf(keyStack, size);
+        clockStack = Arrays.copyOf(clockStack, size);
+    }
+
+    /**
+     * pieceFor gets the shared piece stored at a bitboard index
+     *
+     * @param index index between 0 and 11
+     * @return the shared Piece object
+     */
+    private static Piece pieceFor(int index) {
+        return index < 6 ? Piece.of(index, true) : Piece.of(index - 6, false);
+    }
+
+    /**
+     * getLastMove returns the last move made with makeMove that has not been taken back, with its flags filled in
+     *
+     * @return encoded move, or Move.NONE if no move has been made
+     */
+    public int getLastMove() {
+        return ply > 0 ? moveStack[ply - 1] : Move.NONE;
+    }
+
+    /**
+     * isRepetition checks if the position has been seen before with the same side to move. Only positions since
+     * the last capture or pawn move are looked at, since nothing before one of those can come back.
+     *
+     * @return true if the position occurred earlier in the moves on the undo stacks
+     */
+    public boolean isRepetition() {
+        for (int i = ply - 1; i >= 0; i--) {
+            if (Move.has(moveStack[i], Move.CAPTURE) || ((undoStack[i] >>> 15) & 15) % 6 == PAWN) {
+                return false;
+            }
+            if (((ply - i) & 1) == 0 && keyStack[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * isWhiteToMove checks whose turn it is
+     *
+     * @return true if it is white's turn
+     */
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    /**
+     * getCastlingRights returns the castling rights still available
+     *
+     * @return combination of WHITE_KING_SIDE, WHITE_QUEEN_SIDE, BLACK_KING_SIDE and BLACK_QUEEN_SIDE
+     */
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * getHalfmoveClock returns the number of plies since the last capture or pawn move
+     *
+     * @return halfmove clock
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * getFullmoveNumber returns the number of the current full move, which starts at 1 and goes up after each
+     * black move
+     *
+     * @return fullmove number
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * getEnPassantSquare returns the square a pawn could move to by taking en passant
+     *
+     * @return square index, or -1 if en passant is not possible
+     */
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    /**
+     * getKey returns the Zobrist key of the position. Equal positions with the same side to move, castling rights
+     * and en passant square have equal keys, whatever moves led to them.
+     *
+     * @return 64-bit position key
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * getMiddlegameScore returns the middlegame value of every piece on its square, white minus black. It is kept
+     * up to date by every change to the board, so reading it costs nothing.
+     *
+     * @return score in centipawns, positive when white is better
+     */
+    public int getMiddlegameScore() {
+        return middlegameScore;
+    }
+
+    /**
+     * getEndgameScore returns the endgame value of every piece on its square, white minus black
+     *
+     * @return score in centipawns, positive when white is better
+     */
+    public int getEndgameScore() {
+        return endgameScore;
+    }
+
+    /**
+     * getPhase returns the game phase of the pieces on the board, PieceSquareTables.MAX_PHASE in the starting
+     * position. Promotions can take it above that.
+     *
+     * @return game phase
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * computeKey works out the Zobrist key from scratch. getKey is kept up to date move by move; this is only for
+     * checking it.
+     *
+     * @return 64-bit position key
+     */
+    public long computeKey() {
+        long k = Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassantSquare);
+        if (!whiteToMove) {
+            k ^= Zobrist.blackToMove();
+        }
+        for (int index = 0; index < 12; index++) {
+            long pieces = bitboards[index];
+            while (pieces != 0) {
+                k ^= Zobrist.piece(index, Long.numberOfTrailingZeros(pieces));
+                pieces &= pieces - 1;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * syncBitboards rebuilds every mask, piece list, evaluation sum and the key from the 2D array. Only needed if the array was edited directly.
+     */
+    public void syncBitboards() {
+        Arrays.fill(bitboards, 0L);
+        Arrays.fill(pieceCounts, 0);
+        kingSquares[0] = -1;
+        kingSquares[1] = -1;
+        whiteOccupancy = 0L;
+        blackOccupancy = 0L;
+        middlegameScore = 0;
+        endgameScore = 0;
+        phase = 0;
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                Piece piece = board[i][j];
+                if (piece == null) continue;
+                long mask = Bitboards.bit(Bitboards.square(i, j));
+                bitboards[indexOf(piece)] |= mask;
+                if (piece.getColor()) whiteOccupancy |= mask;
+                else blackOccupancy |= mask;
+                addToList(indexOf(piece), Bitboards.square(i, j));
+                addScore(indexOf(piece), Bitboards.square(i, j));
+            }
+        }
+        key = computeKey();
+    }
+
+    /**
+     * indexOf gets the bitboard index of a piece
+     *
+     * @param piece Piece object
+     * @return index between 0 and 11
+     */
+    static int indexOf(Piece piece) {
+        return piece.getType() + (piece.getColor() ? 0 : 6);
+    }
+
+    /**
+     * getBitboard returns the mask of every square holding the given piece type and color
+     *
+     * @param type one of PAWN, KNIGHT, BISHOP, ROOK, QUEEN or KING
+     * @param isWhite true for white pieces
+     * @return mask of squares
+     */
+    public long getBitboard(int type, boolean isWhite) {
+        return bitboards[type + (isWhite ? 0 : 6)];
+    }
+
+    /**
+     * getOccupancy returns the mask of every square holding a piece of the given color
+     *
+     * @param isWhite true for white pieces
+     * @return mask of squares
+     */
+    public long getOccupancy(boolean isWhite) {
+        return isWhite ? whiteOccupancy : blackOccupancy;
+    }
+
+    /**
+     * attackersOf returns every piece of either color that attacks a square
+     *
+     * @param square square index
+     * @return mask of the squares of the attacking pieces
+     */
+    public long attackersOf(int square) {
+        return attackersOf(square, getOccupied());
+    }
+
+    /**
+     * attackersOf returns every piece of either color that attacks a square, with sliding pieces blocked only by
+     * the given occupancy. Leaving a piece out of the occupancy lets the sliders behind it see through it.
+     * Pieces are looked up from the target square outward, so this is the same few lookups however full the board is.
+     *
+     * @param square square index
+     * @param occupied mask of the squares that block sliding pieces
+     * @return mask of the squares of the attacking pieces
+     */
+    public long attackersOf(int square, long occupied) {
+        // a white pawn attacks this square from the squares a black pawn here would attack, and the other way round
+        long diagonal = bitboards[BISHOP] | bitboards[QUEEN] | bitboards[BISHOP + 6] | bitboards[QUEEN + 6];
+        long straight = bitboards[ROOK] | bitboards[QUEEN] | bitboards[ROOK + 6] | bitboards[QUEEN + 6];
+        return (AttackTables.pawnAttacks(square, false) & bitboards[PAWN])
+                | (AttackTables.pawnAttacks(square, true) & bitboards[PAWN + 6])
+                | (AttackTables.knightAttacks(square) & (bitboards[KNIGHT] | bitboards[KNIGHT + 6]))
+                | (AttackTables.kingAttacks(square) & (bitboards[KING] | bitboards[KING + 6]))
+                | (Magics.bishopAttacks(square, occupied) & diagonal)
+                | (Magics.rookAttacks(square, occupied) & straight);
+    }
+
+    /**
+     * isSquareAttacked checks if any piece of a color attacks a square. It stops at the first kind of
+     * piece found, so it is cheaper than attackersOf when only a yes or no is needed.
+     *
+     * @param square square index
+     * @param byWhite true to look for white attackers, false for black ones
+     * @return true if the square is attacked
+     */
+    public boolean isSquareAttacked(int square, boolean byWhite) {
+        int offset = byWhite ? 0 : 6;
+        long occupied = getOccupied();
+        return (AttackTables.pawnAttacks(square, !byWhite) & bitboards[PAWN + offset]) != 0
+                || (AttackTables.knightAttacks(square) & bitboards[KNIGHT + offset]) != 0
+                || (AttackTables.kingAttacks(square) & bitboards[KING + offset]) != 0
+                || (Magics.bishopAttacks(square, occupied) & (bitboards[BISHOP + offset] | bitboards[QUEEN + offset])) != 0
+                || (Magics.rookAttacks(square, occupied) & (bitboards[ROOK + offset] | bitboards[QUEEN + offset])) != 0;
+    }
+
+    /**
+     * isInCheck checks if the king of a color is attacked
+     *
+     * @param isWhite true for the white king
+     * @return true if that king is in check, false if it is safe or not on the board
+     */
+    public boolean isInCheck(boolean isWhite) {
+        int kingSquare = kingSquares[isWhite ? 0 : 1];
+        return kingSquare >= 0 && isSquareAttacked(kingSquare, !isWhite);
+    }
+
+    /**
+     * getKingSquare returns the square of a king
+     *
+     * @param isWhite true for the white king
+     * @return square index, or -1 if that king is not on the board
+     */
+    public int getKingSquare(boolean isWhite) {
+        return kingSquares[isWhite ? 0 : 1];
+    }
+
+    /**
+     * getPieceCount returns how many pieces of a type and color are on the board
+     *
+     * @param type one of PAWN, KNIGHT, BISHOP, ROOK, QUEEN or KING
+     * @param isWhite true for white pieces
+     * @return number of pieces
+     */
+    public int getPieceCount(int type, boolean isWhite) {
+        return pieceCounts[type + (isWhite ? 0 : 6)];
+    }
+
+    /**
+     * getPieceSquare returns the square of one piece of a type and color. Together with getPieceCount this walks
+     * every piece of a type without looking at the rest of the board. The order is not fixed and changes as pieces move.
+     *
+     * @param type one of PAWN, KNIGHT, BISHOP, ROOK, QUEEN or KING
+     * @param isWhite true for white pieces
+     * @param n position in the list, between 0 and getPieceCount - 1
+     * @return square index
+     */
+    public int getPieceSquare(int type, boolean isWhite, int n) {
+        return pieceSquares[type + (isWhite ? 0 : 6)][n];
+    }
+
+    /**
+     * getOccupied returns the mask of every square holding a piece
+     *
+     * @return mask of squares
+     */
+    public long getOccupied() {
+        return whiteOccupancy | blackOccupancy;
+    }
+
+    /**
+     * clearKingMap empties a king's map of potential moves
+     *
+     * @param isWhite true for the white king
+     */
+    public void clearKingMap(boolean isWhite) {
+        int offset = isWhite ? 0 : 64;
+        long squares = kingMaps[isWhite ? 0 : 1];
+        while (squares != 0) {
+            kingMapAttackers[offset + Long.numberOfTrailingZeros(squares)] = -1;
+            squares &= squares - 1;
+        }
+        kingMaps[isWhite ? 0 : 1] = 0L;
+    }
+
+    /**
+     * addKingMap adds a square to a king's map of potential moves, or updates the piece attacking it
+     *
+     * @param isWhite true for the white king
+     * @param square square index
+     * @param attacker square of the enemy piece attacking the square, or -1 if nothing does
+     */
+    public void addKingMap(boolean isWhite, int square, int attacker) {
+        kingMaps[isWhite ? 0 : 1] |= Bitboards.bit(square);
+        kingMapAttackers[(isWhite ? 0 : 64) + square] = attacker;
+    }
+
+    /**
+     * getKingMap returns the squares in a king's map of potential moves
+     *
+     * @param isWhite true for the white king
+     * @return mask of squares
+     */
+    public long getKingMap(boolean isWhite) {
+        return kingMaps[isWhite ? 0 : 1];
+    }
+
+    /**
+     * getKingMapAttacker returns the square of the enemy piece attacking a square of a king's map
+     *
+     * @param isWhite true for the white king
+     * @param square square index
+     * @return square of the attacking piece, or -1 if nothing attacks the square
+     */
+    public int getKingMapAttacker(boolean isWhite, int square) {
+        return kingMapAttackers[(isWhite ? 0 : 64) + square];
+    }
+
     /**
      * getPiece returns the piece on the board given the coordinates
      * @param move the user-inputted coordinates of a square
      * @return Piece object on the board
      */
     public Piece getPiece(String move) {
-        String[] startEnd = move.split(" ");
-        String start = startEnd[0];
-        String end = startEnd[1];
-        int file = columnMappings.get(start.charAt(0));
-        int row = rowMappings.get(Integer.parseInt(start.charAt(1)+""));
-        if(!inRange(row, file)) return null;
-        return board[row][file];
+        int encoded = Move.parse(move);
+        if (encoded == Move.NONE) return null;
+        return getPiece(Move.from(encoded));
     }
 
-
+    /**
+     * getPiece returns the piece on a square
+     * @param square square index, see Bitboards
+     * @return Piece object on the board, or null if the square is empty
+     */
+    public Piece getPiece(int square) {
+        return board[Bitboards.rankOf(square)][Bitboards.fileOf(square)];
+    }
 
     /**
      * setUpBoard puts all the chess pieces on the board in their respective places
      * before the first player makes their move
      */
     public void setUpBoard() {
+        setState(true, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE, -1);
         for(int i = 0; i < 8; i++) {  // setup row of black pawns
 
-            Piece pawn = new Pawn("bp", false);
-            board[1][i] = pawn;
+            setPiece(1, i, Piece.of(PAWN, false));
         }
         // setup the rest of black pieces
 
         // king
-        board[0][4] = new King("bK", false, false);
+        setPiece(0, 4, Piece.of(KING, false));
 
         // queen
-        board[0][3] = new Queen("bQ", false);
+        setPiece(0, 3, Piece.of(QUEEN, false));
 
         // bishops
-        board[0][2] = new Bishop("bB", false, 'L');;
-        board[0][5] = new Bishop("bB", false, 'R');;
+        setPiece(0, 2, Piece.of(BISHOP, false));
+        setPiece(0, 5, Piece.of(BISHOP, false));
 
         // knights
-        board[0][1] = new Knight("bN", false);;
-        board[0][6] = new Knight("bN", false);
+        setPiece(0, 1, Piece.of(KNIGHT, false));
+        setPiece(0, 6, Piece.of(KNIGHT, false));
 
         // rooks
-        board[0][0] = new Rook("bR", false, false);
-        board[0][7] = new Rook("bR", false, false);
+        setPiece(0, 0, Piece.of(ROOK, false));
+        setPiece(0, 7, Piece.of(ROOK, false));
 
         for(int i = 0; i < 8; i++) {  // setup row of white pawns
 
-            Piece pawn = new Pawn("wp", true);
-
-            board[6][i] = pawn;
+            setPiece(6, i, Piece.of(PAWN, true));
         }
 
         // setup the rest of white pieces
 
         // king
-        board[7][4] = new King("wK", true, false);
+        setPiece(7, 4, Piece.of(KING, true));
 
         // queen
-        board[7][3] = new Queen("wQ", true);
+        setPiece(7, 3, Piece.of(QUEEN, true));
 
         // bishops
-        board[7][2] = new Bishop("wB", true, 'L');
-        board[7][5] = new Bishop("wB", true, 'R');
+        setPiece(7, 2, Piece.of(BISHOP, true));
+        setPiece(7, 5, Piece.of(BISHOP, true));
 
 
         // knights
-        board[7][1] = new Knight("wN", true);
-        board[7][6] = new Knight("wN", true);
+        setPiece(7, 1, Piece.of(KNIGHT, true));
+        setPiece(7, 6, Piece.of(KNIGHT, true));
 
         // rooks
-        board[7][0] = new Rook("wR", true, false);
-        board[7][7] = new Rook("wR", true, false);
+        setPiece(7, 0, Piece.of(ROOK, true));
+        setPiece(7, 7, Piece.of(ROOK, true));
+
+    }
 
+    /**
+     * setUpBoard puts the pieces on the board from a position written in Forsyth-Edwards Notation (FEN),
+     * such as "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1". See Fen.
+     *
+     * @param fen position in FEN
+     * @throws IllegalArgumentException if the FEN cannot be read
+     */
+    public void setUpBoard(String fen) {
+        Fen.load(this, fen);
+    }
+
+    /**
+     * clear empties every square and forgets the moves on the undo stacks
+     */
+    public void clear() {
+        for (int square = 0; square < 64; square++) {
+            if (getPiece(square) != null) {
+                setPiece(square, null);
+            }
+        }
+        ply = 0;
+        setPositionState(true, 0, -1, 0, 1);
     }
 
     /**
@@ -206,7 +998,9 @@ public class Board {
     }
 
     /**
-     * buildCopy creates a copy of the board passed in
+     * buildCopy creates a copy of the board passed in. Pieces are shared, so only the array, the
+     * position state and the move history are copied. The copy shares nothing with the original, so
+     * each thread can search its own copy.
      *
      * @param board Board object where the game is being played on
      * @return a Board object
@@ -214,43 +1008,32 @@ public class Board {
     public static Board buildCopy(Board board){
 
         Board copy = new Board();
-
-
         for (int i = 0; i < board.getBoard().length; i++) {
-            for (int j = 0; j < board.getBoard()[i].length; j++) {
-                if (board.getBoard()[i][j] == null) continue;
-                if (board.getBoard()[i][j] instanceof Pawn) {
-                    Piece piece =  board.getBoard()[i][j];
-                    String s = piece.getColor() ? "wp" : "bp";
-                    copy.getBoard()[i][j] = new Pawn(s, piece.getColor());
-                }
-                if (board.getBoard()[i][j] instanceof Bishop) {
-                    Bishop piece =  (Bishop)board.getBoard()[i][j];
-                    String s = piece.getColor() ? "wB" : "bB";
-                    copy.getBoard()[i][j] = new Bishop(s, piece.getColor(), piece.getDistinct());
-                }
-                if (board.getBoard()[i][j] instanceof King) {
-                    Piece piece =  board.getBoard()[i][j];
-                    String s = piece.getColor() ? "wK" : "bK";
-                    copy.getBoard()[i][j] = new King(s, piece.getColor(), false);
-                }
-                if (board.getBoard()[i][j] instanceof Knight) {
-                    Piece piece =  board.getBoard()[i][j];
-                    String s = piece.getColor() ? "wN" : "bN";
-                    copy.getBoard()[i][j] = new Knight(s, piece.getColor());
-                }
-                if (board.getBoard()[i][j] instanceof Queen) {
-                    Piece piece =  board.getBoard()[i][j];
-                    String s = piece.getColor() ? "wQ" : "bQ";
-                    copy.getBoard()[i][j] = new Queen(s, piece.getColor());
-                }
-                if (board.getBoard()[i][j] instanceof Rook) {
-                    Piece piece =  board.getBoard()[i][j];
-                    String s = piece.getColor() ? "wR" : "bR";
-                    copy.getBoard()[i][j] = new Rook(s, piece.getColor(), false);
-                }
-            }
+            System.arraycopy(board.getBoard()[i], 0, copy.board[i], 0, board.getBoard()[i].length);
+        }
+        System.arraycopy(board.bitboards, 0, copy.bitboards, 0, board.bitboards.length);
+        for (int i = 0; i < board.pieceSquares.length; i++) {
+            System.arraycopy(board.pieceSquares[i], 0, copy.pieceSquares[i], 0, board.pieceCounts[i]);
         }
+        System.arraycopy(board.pieceCounts, 0, copy.pieceCounts, 0, board.pieceCounts.length);
+        System.arraycopy(board.listIndex, 0, copy.listIndex, 0, board.listIndex.length);
+        System.arraycopy(board.kingSquares, 0, copy.kingSquares, 0, board.kingSquares.length);
+        copy.whiteOccupancy = board.whiteOccupancy;
+        copy.blackOccupancy = board.blackOccupancy;
+        copy.whiteToMove = board.whiteToMove;
+        copy.castlingRights = board.castlingRights;
+        copy.enPassantSquare = board.enPassantSquare;
+        copy.halfmoveClock = board.halfmoveClock;
+        copy.fullmoveNumber = board.fullmoveNumber;
+        copy.key = board.key;
+        copy.middlegameScore = board.middlegameScore;
+        copy.endgameScore = board.endgameScore;
+        copy.phase = board.phase;
+        copy.ply = board.ply;
+        copy.moveStack = Arrays.copyOf(board.moveStack, board.moveStack.length);
+        copy.undoStack = Arrays.copyOf(board.undoStack, board.undoStack.length);
+        copy.keyStack = Arrays.copyOf(board.keyStack, board.keyStack.length);
+        copy.clockStack = Arrays.copyOf(board.clockStack, board.clockStack.length);
 
         return copy;
     }
@@ -0,0 +1,330 @@
+package pieces;
+
+/**
+ * Fen reads and writes positions in Forsyth-Edwards Notation, such as
+ * "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1": the piece placement from rank 8 down, the side to
+ * move, the castling rights, the en passant square and the halfmove and fullmove clocks.
+ *
+ * load reads the text one character at a time straight onto the board, without splitting it into strings, so
+ * loading a position allocates nothing beyond the board itself; only a FEN that cannot be read costs the
+ * exception. Fields after the piece placement may be left out and fall back to white to move, no castling, no
+ * en passant and clocks of 0 and 1, which is how EPD and hand-written positions usually look; anything after
+ * the en passant square that is not a number, such as EPD operations, is ignored.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public final class Fen {
+    /**
+     * FEN of the starting position
+     */
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /**
+     * bitboard index of each piece letter, -1 for characters that are not one
+     */
+    private static final int[] INDEX_OF_CHAR = new int[128];
+
+    /**
+     * piece letter of each bitboard index
+     */
+    private static final char[] CHAR_OF_INDEX = {'P', 'N', 'B', 'R', 'Q', 'K', 'p', 'n', 'b', 'r', 'q', 'k'};
+
+    static {
+        java.util.Arrays.fill(INDEX_OF_CHAR, -1);
+        for (int index = 0; index < CHAR_OF_INDEX.length; index++) {
+            INDEX_OF_CHAR[CHAR_OF_INDEX[index]] = index;
+        }
+    }
+
+    /**
+     * Fen constructor, not used since everything is static
+     */
+    private Fen() {
+    }
+
+    /**
+     * load sets up a board from a position in FEN. Anything left on the board and its undo stacks is cleared
+     * first. Castling rights whose king or rook is not on its starting square are dropped, and so is an en
+     * passant square on the wrong rank, so a sloppy FEN cannot lead to an impossible move.
+     *
+     * @param board Board object to set up
+     * @param fen position in FEN
+     * @throws IllegalArgumentException if the FEN cannot be read, does not have one king of each color, has a
+     * pawn on the first or last rank or an en passant square with no enemy pawn behind it; the board is left
+     * empty
+     */
+    public static void load(Board board, CharSequence fen) {
+        board.clear();
+        try {
+            read(board, fen);
+        }
+        catch (IllegalArgumentException e) {
+            board.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * read does the work of load on a cleared board
+     *
+     * @param board Board object to set up, empty
+     * @param fen position in FEN
+     * @throws IllegalArgumentException if the FEN cannot be read
+     */
+    private static void read(Board board, CharSequence fen) {
+        int length = fen.length();
+        int i = skipSpaces(fen, 0);
+
+        int rank = 0;
+        int file = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            char c = fen.charAt(i);
+            if (c == '/') {
+                if (file != 8 || rank == 7) {
+                    throw bad("piece placement", fen);
+                }
+                rank++;
+                file = 0;
+            }
+            else if (c >= '1' && c <= '8') {
+                file += c - '0';
+                if (file > 8) {
+                    throw bad("piece placement", fen);
+                }
+            }
+            else {
+                int index = c < 128 ? INDEX_OF_CHAR[c] : -1;
+                if (index < 0 || file > 7) {
+                    throw bad("piece placement", fen);
+                }
+                // a pawn on the first or last rank would step off the board
+                if (index % 6 == Board.PAWN && (rank == 0 || rank == 7)) {
+                    throw bad("pawns", fen);
+                }
+                board.setPiece(Bitboards.square(rank, file++), Piece.of(index % 6, index < 6));
+            }
+        }
+        if (rank != 7 || file != 8) {
+            throw bad("piece placement", fen);
+        }
+        if (board.getPieceCount(Board.KING, true) != 1 || board.getPieceCount(Board.KING, false) != 1) {
+            throw bad("kings", fen);
+        }
+
+        boolean white = true;
+        i = skipSpaces(fen, i);
+        if (i < length) {
+            char c = fen.charAt(i++);
+            if (c == 'b') {
+                white = false;
+            }
+            else if (c != 'w') {
+                throw bad("side to move", fen);
+            }
+        }
+
+        int rights = 0;
+        i = skipSpaces(fen, i);
+        if (i < length && fen.charAt(i) == '-') {
+            i++;
+        }
+        else {
+            for (; i < length && fen.charAt(i) != ' '; i++) {
+                switch (fen.charAt(i)) {
+                    case 'K': rights |= Board.WHITE_KING_SIDE; break;
+                    case 'Q': rights |= Board.WHITE_QUEEN_SIDE; break;
+                    case 'k': rights |= Board.BLACK_KING_SIDE; break;
+                    case 'q': rights |= Board.BLACK_QUEEN_SIDE; break;
+                    default: throw bad("castling rights", fen);
+                }
+            }
+        }
+        rights &= possibleRights(board);
+
+        int enPassant = -1;
+        i = skipSpaces(fen, i);
+        if (i < length && fen.charAt(i) == '-') {
+            i++;
+        }
+        else if (i < length) {
+            enPassant = Move.parseSquare(fen, i);
+            if (enPassant < 0) {
+                throw bad("en passant square", fen);
+            }
+            i += 2;
+            if (Bitboards.rankOf(enPassant) != (white ? 2 : 5)) {
+                enPassant = -1;
+            }
+            // the pawn that just pushed two squares stands right behind the square it passed
+            else if (board.getPiece(enPassant + (white ? 8 : -8)) != Piece.of(Board.PAWN, !white)) {
+                throw bad("en passant square", fen);
+            }
+        }
+
+        i = skipSpaces(fen, i);
+        int halfmoves = 0;
+        int fullmoves = 1;
+        if (isDigit(fen, i)) {
+            int end = skipDigits(fen, i);
+            halfmoves = readNumber(fen, i, end);
+            i = skipSpaces(fen, end);
+            if (isDigit(fen, i)) {
+                fullmoves = Math.max(1, readNumber(fen, i, skipDigits(fen, i)));
+            }
+        }
+
+        board.setPositionState(white, rights, enPassant, halfmoves, fullmoves);
+    }
+
+    /**
+     * possibleRights works out which castling rights the pieces allow, the ones whose king and rook are still
+     * on their starting squares
+     *
+     * @param board Board object with the pieces set up
+     * @return combination of the *_SIDE bits
+     */
+    private static int possibleRights(Board board) {
+        int rights = 0;
+        if (board.getPiece(60) == Piece.of(Board.KING, true)) {
+            if (board.getPiece(63) == Piece.of(Board.ROOK, true)) rights |= Board.WHITE_KING_SIDE;
+            if (board.getPiece(56) == Piece.of(Board.ROOK, true)) rights |= Board.WHITE_QUEEN_SIDE;
+        }
+        if (board.getPiece(4) == Piece.of(Board.KING, false)) {
+            if (board.getPiece(7) == Piece.of(Board.ROOK, false)) rights |= Board.BLACK_KING_SIDE;
+            if (board.getPiece(0) == Piece.of(Board.ROOK, false)) rights |= Board.BLACK_QUEEN_SIDE;
+        }
+        return rights;
+    }
+
+    /**
+     * write writes a position in FEN
+     *
+     * @param board Board object to write
+     * @return the position in FEN
+     */
+    public static String write(Board board) {
+        return write(board, new StringBuilder(90)).toString();
+    }
+
+    /**
+     * write appends a position in FEN to a StringBuilder, which can be reused to write many positions without
+     * allocating
+     *
+     * @param board Board object to write
+     * @param out StringBuilder to append to
+     * @return out
+     */
+    public static StringBuilder write(Board board, StringBuilder out) {
+        for (int rank = 0; rank < 8; rank++) {
+            int empty = 0;
+            for (int file = 0; file < 8; file++) {
+                Piece piece = board.getPiece(Bitboards.square(rank, file));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    out.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                out.append(CHAR_OF_INDEX[Board.indexOf(piece)]);
+            }
+            if (empty > 0) {
+                out.append((char) ('0' + empty));
+            }
+            if (rank < 7) {
+                out.append('/');
+            }
+        }
+
+        out.append(board.isWhiteToMove() ? " w " : " b ");
+        int rights = board.getCastlingRights();
+        if (rights == 0) {
+            out.append('-');
+        }
+        else {
+            if ((rights & Board.WHITE_KING_SIDE) != 0) out.append('K');
+            if ((rights & Board.WHITE_QUEEN_SIDE) != 0) out.append('Q');
+            if ((rights & Board.BLACK_KING_SIDE) != 0) out.append('k');
+            if ((rights & Board.BLACK_QUEEN_SIDE) != 0) out.append('q');
+        }
+
+        out.append(' ');
+        int enPassant = board.getEnPassantSquare();
+        if (enPassant < 0) {
+            out.append('-');
+        }
+        else {
+            out.append((char) ('a' + Bitboards.fileOf(enPassant))).append((char) ('8' - Bitboards.rankOf(enPassant)));
+        }
+        return out.append(' ').append(board.getHalfmoveClock()).append(' ').append(board.getFullmoveNumber());
+    }
+
+    /**
+     * skipSpaces moves past any spaces
+     *
+     * @param text text to read from
+     * @param i starting position
+     * @return position of the next character that is not a space
+     */
+    private static int skipSpaces(CharSequence text, int i) {
+        while (i < text.length() && text.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    /**
+     * isDigit checks for a digit at a position
+     *
+     * @param text text to read from
+     * @param i position to look at, may be past the end
+     * @return true if there is a digit there
+     */
+    private static boolean isDigit(CharSequence text, int i) {
+        return i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9';
+    }
+
+    /**
+     * skipDigits moves past any digits
+     *
+     * @param text text to read from
+     * @param i starting position
+     * @return position of the next character that is not a digit
+     */
+    private static int skipDigits(CharSequence text, int i) {
+        while (isDigit(text, i)) i++;
+        return i;
+    }
+
+    /**
+     * readNumber reads a clock field
+     *
+     * @param fen text to read from
+     * @param start position of the first digit
+     * @param end position after the last digit
+     * @return the number
+     * @throws IllegalArgumentException if the field goes on past the digits or the number is too large
+     */
+    private static int readNumber(CharSequence fen, int start, int end) {
+        if (end - start > 6 || (end < fen.length() && fen.charAt(end) != ' ')) {
+            throw bad("move clocks", fen);
+        }
+        int number = 0;
+        for (int i = start; i < end; i++) {
+            number = number * 10 + fen.charAt(i) - '0';
+        }
+        return number;
+    }
+
+    /**
+     * bad makes the exception for a field that cannot be read
+     *
+     * @param field name of the field
+     * @param fen the whole FEN
+     * @return the exception to throw
+     */
+    private static IllegalArgumentException bad(String field, CharSequence fen) {
+        return new IllegalArgumentException("Bad FEN " + field + ": " + fen);
+    }
+}
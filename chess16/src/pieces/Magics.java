@@ -0,0 +1,229 @@
+package pieces;
+
+/**
+ * Magics generates sliding piece attacks for rooks, bishops and queens with magic bitboards.
+ * For every square the occupied squares that can block a slider are multiplied by a magic number,
+ * and the top bits of the product index a table of precomputed attack masks.
+ *
+ * The magic numbers below were found offline with a fixed-seed xorshift search, so the tables are the
+ * same on every run and loading the class only has to fill them. The slow ray walks in Bitboards are
+ * only used to fill and verify the tables. Run this class with an optional position count to compare
+ * the tables against the ray walks on random occupancies.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public final class Magics {
+    /**
+     * squares that can block a rook on each square (board edges excluded)
+     */
+    private static final long[] ROOK_MASK = new long[64];
+
+    /**
+     * squares that can block a bishop on each square (board edges excluded)
+     */
+    private static final long[] BISHOP_MASK = new long[64];
+
+    /**
+     * magic multipliers for rooks
+     */
+    private static final long[] ROOK_MAGIC = {
+            0x008000908064C000L, 0x0040200040001000L, 0x0180100080A0010AL, 0x8880041000800800L,
+            0x1200100201200804L, 0x0200020004011008L, 0x2180010000800600L, 0x0200005088210204L,
+            0x0000800080204001L, 0x1000804000802001L, 0x8240801000200080L, 0x8611001004200900L,
+            0x008180800C001800L, 0x0100800200800400L, 0x0A02000102000408L, 0x8020802300104280L,
+            0x0080004000402000L, 0xE010104000402000L, 0x0800808010002000L, 0xA280210008100100L,
+            0x0001818014000800L, 0xA002010100080400L, 0x0008040088020130L, 0x0001020004048845L,
+            0x0081826280004004L, 0x2020810900284000L, 0x0200100080802000L, 0x0200080080100080L,
+            0x8083080100100500L, 0x4406000901000400L, 0x0005020080800100L, 0x0090204200008114L,
+            0x0010400094800420L, 0x0900804000802002L, 0x0201001841002000L, 0x4100080080801000L,
+            0x4540040080800800L, 0x0000800400800200L, 0x9281800100808200L, 0x8004048102000854L,
+            0x4420802040008006L, 0x0880500020004002L, 0x0801200241050010L, 0x8400080010008080L,
+            0x0008000500090010L, 0x0082009084020008L, 0x4012000108020004L, 0x9000104D08860004L,
+            0x2004204114800100L, 0x0148802112400300L, 0x0202842000100880L, 0x001B080080900080L,
+            0x001A002008100600L, 0x0004008004020080L, 0x5181000600040300L, 0x0000044401128A00L,
+            0x8044110480002441L, 0x1023012082044112L, 0x00804080200A0012L, 0x000420310A004A42L,
+            0x0023001004020801L, 0x0882001008040102L, 0x000230088118020CL, 0x0000019025040042L
+    };
+
+    /**
+     * magic multipliers for bishops
+     */
+    private static final long[] BISHOP_MAGIC = {
+            0x1010220204082A00L, 0x80E0020202002804L, 0x2008480104200020L, 0x000220920280002DL,
+            0x32040421000B0284L, 0x1002080404000400L, 0x0004160892080040L, 0x2203024206204201L,
+            0x0002404264010200L, 0x1120908408428124L, 0xB100424403002280L, 0x240008060440C288L,
+            0x2040040420490400L, 0x0100620210040022L, 0x0400084104202028L, 0x0010050080908820L,
+            0x0C90A04490824802L, 0x000200A008210130L, 0x0C08001000204010L, 0x0008000186014480L,
+            0x0601044820080021L, 0x0002000101013100L, 0x1400A08108080204L, 0x0250401104485410L,
+            0x4820240810142843L, 0x0009142A20182200L, 0x0848140048440020L, 0x2020120000400440L,
+            0x0108840200802003L, 0x0009070082009492L, 0x020C0C0038424245L, 0xCA44005808210410L,
+            0x8011212000500404L, 0x2028840510101008L, 0x0004042A00041400L, 0x0624020080980080L,
+            0x1820410040840040L, 0x2201004202050100L, 0x402A088A24040224L, 0x0242061040002400L,
+            0x90020202400821A0L, 0x00C9009004E01002L, 0x58C2060202023100L, 0x0000012214040800L,
+            0x0210846810100200L, 0x0004208081010200L, 0x01A4108404442100L, 0x8054082C80280106L,
+            0x0004144904104208L, 0x00324C0A11104000L, 0x1000020231040100L, 0x2080001042020004L,
+            0x0544021020288104L, 0x1103501408083020L, 0x4010451004960002L, 0x003010091C44902CL,
+            0x0102402884202000L, 0x0480804C00841086L, 0x04602C8602210400L, 0x0000004000420200L,
+            0x0040000020442C18L, 0x4483804089094100L, 0x80000B0248020400L, 0x0045010808008680L
+    };
+
+    /**
+     * how far the product is shifted for rooks, 64 minus the number of blocker squares
+     */
+    private static final int[] ROOK_SHIFT = new int[64];
+
+    /**
+     * how far the product is shifted for bishops, 64 minus the number of blocker squares
+     */
+    private static final int[] BISHOP_SHIFT = new int[64];
+
+    /**
+     * rook attack masks for each square, indexed by the magic product
+     */
+    private static final long[][] ROOK_TABLE = new long[64][];
+
+    /**
+     * bishop attack masks for each square, indexed by the magic product
+     */
+    private static final long[][] BISHOP_TABLE = new long[64][];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            ROOK_MASK[square] = Bitboards.rookAttacks(square, 0L) & edgesFor(square);
+            BISHOP_MASK[square] = Bitboards.bishopAttacks(square, 0L) & edgesFor(square);
+            ROOK_SHIFT[square] = 64 - Long.bitCount(ROOK_MASK[square]);
+            BISHOP_SHIFT[square] = 64 - Long.bitCount(BISHOP_MASK[square]);
+            ROOK_TABLE[square] = fillTable(square, ROOK_MASK[square], ROOK_MAGIC[square], ROOK_SHIFT[square], false);
+            BISHOP_TABLE[square] = fillTable(square, BISHOP_MASK[square], BISHOP_MAGIC[square], BISHOP_SHIFT[square], true);
+        }
+    }
+
+    /**
+     * Magics is a static lookup class and is never instantiated
+     */
+    private Magics() {
+    }
+
+    /**
+     * rookAttacks gets every square a rook on the given square attacks, stopping at the first
+     * occupied square in each direction
+     *
+     * @param square square of the rook
+     * @param occupied mask of every occupied square
+     * @return mask of attacked squares
+     */
+    public static long rookAttacks(int square, long occupied) {
+        return ROOK_TABLE[square][(int) (((occupied & ROOK_MASK[square]) * ROOK_MAGIC[square]) >>> ROOK_SHIFT[square])];
+    }
+
+    /**
+     * bishopAttacks gets every square a bishop on the given square attacks, stopping at the first
+     * occupied square in each direction
+     *
+     * @param square square of the bishop
+     * @param occupied mask of every occupied square
+     * @return mask of attacked squares
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        return BISHOP_TABLE[square][(int) (((occupied & BISHOP_MASK[square]) * BISHOP_MAGIC[square]) >>> BISHOP_SHIFT[square])];
+    }
+
+    /**
+     * queenAttacks gets every square a queen on the given square attacks
+     *
+     * @param square square of the queen
+     * @param occupied mask of every occupied square
+     * @return mask of attacked squares
+     */
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * edgesFor gets the mask of squares that are not on a board edge, except for the edges the square
+     * itself is on. A blocker on the last square of a ray never changes the attack set.
+     *
+     * @param square square of the slider
+     * @return mask of squares that are kept in the blocker mask
+     */
+    private static long edgesFor(int square) {
+        long rank1And8 = 0xFFL | (0xFFL << 56);
+        long fileAAndH = Bitboards.FILE_A | Bitboards.FILE_H;
+        long rankEdges = rank1And8 & ~(0xFFL << (Bitboards.rankOf(square) << 3));
+        long fileEdges = fileAAndH & ~(Bitboards.FILE_A << Bitboards.fileOf(square));
+        return ~(rankEdges | fileEdges);
+    }
+
+    /**
+     * fillTable enumerates every blocker subset of a square and stores its attack set at the slot
+     * the magic number maps it to
+     *
+     * @param square square of the slider
+     * @param mask blocker mask of the square
+     * @param magic magic multiplier of the square
+     * @param shift 64 minus the number of bits in the mask
+     * @param bishop true for bishops, false for rooks
+     * @return the filled attack table
+     */
+    private static long[] fillTable(int square, long mask, long magic, int shift, boolean bishop) {
+        long[] table = new long[1 << (64 - shift)];
+        boolean[] used = new boolean[table.length];
+        // walk every subset of the mask with the carry-rippler trick
+        long subset = 0L;
+        do {
+            long attacks = bishop ? Bitboards.bishopAttacks(square, subset) : Bitboards.rookAttacks(square, subset);
+            int index = (int) ((subset * magic) >>> shift);
+            if (used[index] && table[index] != attacks) {
+                throw new IllegalStateException("Bad magic number for square " + square);
+            }
+            used[index] = true;
+            table[index] = attacks;
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+        return table;
+    }
+
+    /**
+     * selfCheck compares the magic lookups with the ray walks in Bitboards for random occupancies
+     * on every square
+     *
+     * @param positions number of random occupancies to test
+     * @param seed seed of the random occupancies
+     * @return number of mismatches found, 0 if the tables are correct
+     */
+    public static int selfCheck(int positions, long seed) {
+        java.util.Random rng = new java.util.Random(seed);
+        int mismatches = 0;
+        for (int n = 0; n < positions; n++) {
+            // roughly a quarter of the squares occupied, like a middlegame position
+            long occupied = rng.nextLong() & rng.nextLong();
+            for (int square = 0; square < 64; square++) {
+                if (rookAttacks(square, occupied) != Bitboards.rookAttacks(square, occupied)) {
+                    mismatches++;
+                }
+                if (bishopAttacks(square, occupied) != Bitboards.bishopAttacks(square, occupied)) {
+                    mismatches++;
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * main runs the self-check. The optional first argument is the number of random positions.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        long start = System.nanoTime();
+        int mismatches = selfCheck(positions, 1L);
+        long millis = (System.nanoTime() - start) / 1000000;
+        System.out.println("Checked " + positions + " positions in " + millis + " ms, " + mismatches + " mismatches");
+        if (mismatches != 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package pieces;
+
+/**
+ * Move packs a chess move into a single int so moves can be stored and passed around without
+ * allocating. Bits 0-5 hold the starting square, bits 6-11 the end square, bits 12-14 the type of
+ * the piece a pawn promotes to (0 when there is no promotion) and the bits above that are flags.
+ * Squares use the same numbering as Bitboards.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public final class Move {
+    /**
+     * value used for "no move". It would move a8 onto itself, which is never a real move.
+     */
+    public static final int NONE = 0;
+
+    /**
+     * flag set when the move takes an enemy piece
+     */
+    public static final int CAPTURE = 1 << 15;
+
+    /**
+     * flag set when a pawn moves two squares from its starting rank
+     */
+    public static final int DOUBLE_PUSH = 1 << 16;
+
+    /**
+     * flag set when a pawn takes en passant
+     */
+    public static final int EN_PASSANT = 1 << 17;
+
+    /**
+     * flag set when the king castles
+     */
+    public static final int CASTLE = 1 << 18;
+
+    /**
+     * column of the 2D array for each file letter, or -1 for characters that are not a file
+     */
+    private static final byte[] FILE_OF_CHAR = new byte[128];
+
+    /**
+     * row of the 2D array for each rank digit, or -1 for characters that are not a rank
+     */
+    private static final byte[] RANK_OF_CHAR = new byte[128];
+
+    /**
+     * name of every square, such as "e4"
+     */
+    private static final String[] SQUARE_NAMES = new String[64];
+
+    static {
+        java.util.Arrays.fill(FILE_OF_CHAR, (byte) -1);
+        java.util.Arrays.fill(RANK_OF_CHAR, (byte) -1);
+        for (int i = 0; i < 8; i++) {
+            FILE_OF_CHAR['a' + i] = (byte) i;
+            RANK_OF_CHAR['8' - i] = (byte) i;
+        }
+        for (int square = 0; square < 64; square++) {
+            SQUARE_NAMES[square] = "" + (char) ('a' + Bitboards.fileOf(square)) + (char) ('8' - Bitboards.rankOf(square));
+        }
+    }
+
+    /**
+     * Move is a static helper class and is never instantiated
+     */
+    private Move() {
+    }
+
+    /**
+     * of builds a move with no promotion and no flags
+     *
+     * @param from starting square
+     * @param to end square
+     * @return encoded move
+     */
+    public static int of(int from, int to) {
+        return from | (to << 6);
+    }
+
+    /**
+     * of builds a move
+     *
+     * @param from starting square
+     * @param to end square
+     * @param promotion type of the promotion piece (Board.KNIGHT to Board.QUEEN) or 0 for none
+     * @param flags any of CAPTURE, DOUBLE_PUSH, EN_PASSANT and CASTLE
+     * @return encoded move
+     */
+    public static int of(int from, int to, int promotion, int flags) {
+        return from | (to << 6) | (promotion << 12) | flags;
+    }
+
+    /**
+     * from gets the starting square of a move
+     *
+     * @param move encoded move
+     * @return square index
+     */
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    /**
+     * to gets the end square of a move
+     *
+     * @param move encoded move
+     * @return square index
+     */
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * promotion gets the type of piece a pawn promotes to
+     *
+     * @param move encoded move
+     * @return Board.KNIGHT to Board.QUEEN, or 0 if the move is not a promotion
+     */
+    public static int promotion(int move) {
+        return (move >>> 12) & 7;
+    }
+
+    /**
+     * has checks if a move carries the given flag
+     *
+     * @param move encoded move
+     * @param flag one of CAPTURE, DOUBLE_PUSH, EN_PASSANT or CASTLE
+     * @return true if the flag is set
+     */
+    public static boolean has(int move, int flag) {
+        return (move & flag) != 0;
+    }
+
+    /**
+     * withPromotion returns the same move with its promotion piece replaced
+     *
+     * @param move encoded move
+     * @param promotion type of the promotion piece or 0 for none
+     * @return encoded move
+     */
+    public static int withPromotion(int move, int promotion) {
+        return (move & ~(7 << 12)) | (promotion << 12);
+    }
+
+    /**
+     * parse reads a move typed by a player, such as "e2 e4" or "g7 g8 N". Anything after the two
+     * squares that is not a promotion letter (for example "draw?") is ignored. Nothing is allocated.
+     *
+     * @param text the user input
+     * @return encoded move, or NONE if the squares could not be read
+     */
+    public static int parse(CharSequence text) {
+        int i = skipSpaces(text, 0);
+        int from = parseSquare(text, i);
+        if (from < 0) return NONE;
+        i = skipSpaces(text, i + 2);
+        int to = parseSquare(text, i);
+        if (to < 0) return NONE;
+        i = skipSpaces(text, i + 2);
+        int promotion = 0;
+        if (i < text.length() && (i + 1 == text.length() || text.charAt(i + 1) == ' ')) {
+            promotion = promotionType(text.charAt(i));
+        }
+        return of(from, to, promotion, 0);
+    }
+
+    /**
+     * parseSquare reads a square name such as "e4" at the given position
+     *
+     * @param text text to read from
+     * @param i position of the file letter
+     * @return square index, or -1 if there is no square name there
+     */
+    public static int parseSquare(CharSequence text, int i) {
+        if (i + 1 >= text.length()) return -1;
+        char fileChar = text.charAt(i);
+        char rankChar = text.charAt(i + 1);
+        if (fileChar >= 128 || rankChar >= 128) return -1;
+        int file = FILE_OF_CHAR[fileChar];
+        int rank = RANK_OF_CHAR[rankChar];
+        if (file < 0 || rank < 0) return -1;
+        return Bitboards.square(rank, file);
+    }
+
+    /**
+     * promotionType maps a promotion letter to a piece type
+     *
+     * @param c letter typed by the player
+     * @return piece type, or 0 if the letter is not N, B, R or Q
+     */
+    private static int promotionType(char c) {
+        switch (Character.toUpperCase(c)) {
+            case 'N': return Board.KNIGHT;
+            case 'B': return Board.BISHOP;
+            case 'R': return Board.ROOK;
+            case 'Q': return Board.QUEEN;
+            default: return 0;
+        }
+    }
+
+    /**
+     * skipSpaces moves past any spaces
+     *
+     * @param text text to read from
+     * @param i starting position
+     * @return position of the next character that is not a space
+     */
+    private static int skipSpaces(CharSequence text, int i) {
+        while (i < text.length() && text.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    /**
+     * squareName gets the name of a square, such as "e4"
+     *
+     * @param square square index
+     * @return name of the square
+     */
+    public static String squareName(int square) {
+        return SQUARE_NAMES[square];
+    }
+
+    /**
+     * toString writes a move the way a player types it, such as "e2 e4" or "g7 g8 N"
+     *
+     * @param move encoded move
+     * @return text of the move
+     */
+    public static String toString(int move) {
+        String text = squareName(from(move)) + " " + squareName(to(move));
+        if (promotion(move) != 0) {
+            text += " " + "PNBRQK".charAt(promotion(move));
+        }
+        return text;
+    }
+
+    /**
+     * toUci writes a move in the long algebraic form of the UCI protocol, such as "e2e4" or "g7g8n"
+     *
+     * @param move encoded move, or NONE
+     * @return text of the move, "0000" for NONE
+     */
+    public static String toUci(int move) {
+        if (move == NONE) {
+            return "0000";
+        }
+        String text = squareName(from(move)) + squareName(to(move));
+        if (promotion(move) != 0) {
+            text += "pnbrqk".charAt(promotion(move));
+        }
+        return text;
+    }
+}
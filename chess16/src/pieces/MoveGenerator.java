@@ -0,0 +1,379 @@
+package pieces;
+
+/**
+ * MoveGenerator lists every legal move of the side to move. Checking pieces and pinned pieces are worked
+ * out once per position, so each move is legal as soon as it is generated and nothing has to be made and
+ * taken back to test it. Moves carry the same flags Piece.resolveMove gives them, so a generated move can be
+ * passed straight to Board.makeMove.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public final class MoveGenerator {
+    /**
+     * generation mode: every legal move
+     */
+    private static final int ALL = 0;
+
+    /**
+     * generation mode: captures, en passant captures and queen promotions
+     */
+    private static final int CAPTURES = 1;
+
+    /**
+     * generation mode: every move generateCaptures leaves out
+     */
+    private static final int QUIETS = 2;
+
+    /**
+     * MoveGenerator is a static helper class and is never instantiated
+     */
+    private MoveGenerator() {
+    }
+
+    /**
+     * generate fills a list with every legal move of the side to move. A pawn reaching the last rank gives
+     * four moves, one for each piece it can promote to.
+     *
+     * @param board Board object where the game is being played on
+     * @param moves list to fill, cleared first
+     * @return number of legal moves, 0 on checkmate or stalemate
+     */
+    public static int generate(Board board, MoveList moves) {
+        return generate(board, moves, ALL);
+    }
+
+    /**
+     * generateCaptures fills a list with the legal captures, en passant captures and queen promotions of the side
+     * to move, the moves that change the material on the board. Quiescence search looks only at these.
+     *
+     * @param board Board object where the game is being played on
+     * @param moves list to fill, cleared first
+     * @return number of moves found
+     */
+    public static int generateCaptures(Board board, MoveList moves) {
+        return generate(board, moves, CAPTURES);
+    }
+
+    /**
+     * generateQuiets fills a list with the legal moves generateCaptures leaves out: pushes, castles, king and
+     * piece moves to empty squares and promotions to rook, bishop and knight. Together the two give every legal
+     * move, so a search can look at the captures first and skip generating the rest after a cutoff.
+     *
+     * @param board Board object where the game is being played on
+     * @param moves list to fill, cleared first
+     * @return number of moves found
+     */
+    public static int generateQuiets(Board board, MoveList moves) {
+        return generate(board, moves, QUIETS);
+    }
+
+    /**
+     * generate fills a list with the legal moves of the side to move of one kind
+     *
+     * @param board Board object where the game is being played on
+     * @param moves list to fill, cleared first
+     * @param mode ALL, CAPTURES or QUIETS
+     * @return number of moves found
+     */
+    private static int generate(Board board, MoveList moves, int mode) {
+        moves.clear();
+        boolean white = board.isWhiteToMove();
+        int king = board.getKingSquare(white);
+        if (king < 0) {
+            return 0;
+        }
+        long own = board.getOccupancy(white);
+        long enemy = board.getOccupancy(!white);
+        long occupied = own | enemy;
+        long checkers = board.attackersOf(king) & enemy;
+
+        // the king can go anywhere that is not attacked once it has left its square
+        long kinds = mode == CAPTURES ? enemy : mode == QUIETS ? ~occupied : ~own;
+        long kingTargets = AttackTables.kingAttacks(king) & kinds;
+        long withoutKing = occupied & ~Bitboards.bit(king);
+        while (kingTargets != 0) {
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            kingTargets &= kingTargets - 1;
+            if ((board.attackersOf(to, withoutKing) & enemy) == 0) {
+                moves.add(Move.of(king, to, 0, (enemy & Bitboards.bit(to)) != 0 ? Move.CAPTURE : 0));
+            }
+        }
+        // against a double check only the king can move
+        if (Long.bitCount(checkers) > 1) {
+            return moves.size();
+        }
+
+        // against a single check every other move has to take the checker or step in between
+        long checkMask = -1L;
+        if (checkers != 0) {
+            int checker = Long.numberOfTrailingZeros(checkers);
+            checkMask = checkers | AttackTables.between(king, checker);
+        }
+        else if (mode != CAPTURES) {
+            addCastles(board, white, king, occupied, moves);
+        }
+        long pinned = pinnedPieces(board, white, king, own, enemy, occupied);
+        long targets = kinds & checkMask;
+
+        addPawnMoves(board, white, king, enemy, occupied, checkers, checkMask, pinned, mode, moves);
+        addPieceMoves(board, Board.KNIGHT, white, king, enemy, occupied, targets, pinned, moves);
+        addPieceMoves(board, Board.BISHOP, white, king, enemy, occupied, targets, pinned, moves);
+        addPieceMoves(board, Board.ROOK, white, king, enemy, occupied, targets, pinned, moves);
+        addPieceMoves(board, Board.QUEEN, white, king, enemy, occupied, targets, pinned, moves);
+        return moves.size();
+    }
+
+    /**
+     * isLegal checks a move that did not come from generating this position, such as a move remembered from
+     * another position. The moving piece's resolveMove has to give back exactly the same move, flags included,
+     * and the move must not leave the king in check.
+     *
+     * @param board Board object where the game is being played on, left as it was found
+     * @param move encoded move with its flags
+     * @return true if the move is legal here
+     */
+    public static boolean isLegal(Board board, int move) {
+        if (move == Move.NONE) {
+            return false;
+        }
+        Piece piece = board.getPiece(Move.from(move));
+        if (piece == null || piece.getColor() != board.isWhiteToMove() || piece.resolveMove(board, move) != move) {
+            return false;
+        }
+        board.makeMove(move);
+        boolean legal = !board.isInCheck(piece.getColor());
+        board.unmakeMove();
+        return legal;
+    }
+
+    /**
+     * isCheckmate checks if the side to move is in check and has no legal move
+     *
+     * @param board Board object where the game is being played on
+     * @param moves scratch list the legal moves are written to
+     * @return true on checkmate
+     */
+    public static boolean isCheckmate(Board board, MoveList moves) {
+        return generate(board, moves) == 0 && board.isInCheck(board.isWhiteToMove());
+    }
+
+    /**
+     * isStalemate checks if the side to move is not in check and has no legal move
+     *
+     * @param board Board object where the game is being played on
+     * @param moves scratch list the legal moves are written to
+     * @return true on stalemate
+     */
+    public static boolean isStalemate(Board board, MoveList moves) {
+        return generate(board, moves) == 0 && !board.isInCheck(board.isWhiteToMove());
+    }
+
+    /**
+     * pinnedPieces finds the pieces of the side to move that stand alone between their king and an enemy slider
+     *
+     * @param board Board object where the game is being played on
+     * @param white true if white is to move
+     * @param king square of the king of the side to move
+     * @param own mask of the pieces of the side to move
+     * @param enemy mask of the enemy pieces
+     * @param occupied mask of every piece
+     * @return mask of the pinned pieces
+     */
+    private static long pinnedPieces(Board board, boolean white, int king, long own, long enemy, long occupied) {
+        long queens = board.getBitboard(Board.QUEEN, !white);
+        // look from the king through our own pieces to find the sliders that would attack it
+        long snipers = (Magics.rookAttacks(king, enemy) & (board.getBitboard(Board.ROOK, !white) | queens))
+                | (Magics.bishopAttacks(king, enemy) & (board.getBitboard(Board.BISHOP, !white) | queens));
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = AttackTables.between(king, sniper) & occupied;
+            if (Long.bitCount(blockers) == 1 && (blockers & own) != 0) {
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * addPieceMoves adds the moves of every knight, bishop, rook or queen of the side to move. A pinned piece
+     * may only move along the line through its king and the pinning piece.
+     *
+     * @param board Board object where the game is being played on
+     * @param type piece type to move
+     * @param white true if white is to move
+     * @param king square of the king of the side to move
+     * @param enemy mask of the enemy pieces
+     * @param occupied mask of every piece
+     * @param targets squares a move may end on: not our own pieces, and inside the check mask
+     * @param pinned mask of the pinned pieces
+     * @param moves list the moves are added to
+     */
+    private static void addPieceMoves(Board board, int type, boolean white, int king, long enemy, long occupied,
+                                      long targets, long pinned, MoveList moves) {
+        long pieces = board.getBitboard(type, white);
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            long attacks;
+            switch (type) {
+                case Board.KNIGHT: attacks = AttackTables.knightAttacks(from); break;
+                case Board.BISHOP: attacks = Magics.bishopAttacks(from, occupied); break;
+                case Board.ROOK: attacks = Magics.rookAttacks(from, occupied); break;
+                default: attacks = Magics.queenAttacks(from, occupied); break;
+            }
+            attacks &= targets;
+            if ((pinned & Bitboards.bit(from)) != 0) {
+                attacks &= AttackTables.line(king, from);
+            }
+            while (attacks != 0) {
+                int to = Long.numberOfTrailingZeros(attacks);
+                attacks &= attacks - 1;
+                moves.add(Move.of(from, to, 0, (enemy & Bitboards.bit(to)) != 0 ? Move.CAPTURE : 0));
+            }
+        }
+    }
+
+    /**
+     * addPawnMoves adds every push, double push, capture, en passant capture and promotion of the side to move
+     *
+     * @param board Board object where the game is being played on
+     * @param white true if white is to move
+     * @param king square of the king of the side to move
+     * @param enemy mask of the enemy pieces
+     * @param occupied mask of every piece
+     * @param checkers mask of the pieces giving check
+     * @param checkMask squares a move must end on to deal with a check, every square when not in check
+     * @param pinned mask of the pinned pieces
+     * @param mode ALL, CAPTURES or QUIETS
+     * @param moves list the moves are added to
+     */
+    private static void addPawnMoves(Board board, boolean white, int king, long enemy, long occupied,
+                                     long checkers, long checkMask, long pinned, int mode, MoveList moves) {
+        int forward = white ? -8 : 8;
+        int startRank = white ? 6 : 1;
+        int lastRank = white ? 0 : 7;
+        int enPassant = board.getEnPassantSquare();
+        long pawns = board.getBitboard(Board.PAWN, white);
+        while (pawns != 0) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            long allowed = checkMask;
+            if ((pinned & Bitboards.bit(from)) != 0) {
+                allowed &= AttackTables.line(king, from);
+            }
+
+            int to = from + forward;
+            boolean promotes = Bitboards.rankOf(to) == lastRank;
+            if ((occupied & Bitboards.bit(to)) == 0 && (promotes || mode != CAPTURES)) {
+                if ((allowed & Bitboards.bit(to)) != 0) {
+                    addPawnMove(from, to, 0, promotes, mode, moves);
+                }
+                int jump = to + forward;
+                if (mode != CAPTURES && Bitboards.rankOf(from) == startRank && (occupied & Bitboards.bit(jump)) == 0
+                        && (allowed & Bitboards.bit(jump)) != 0) {
+                    moves.add(Move.of(from, jump, 0, Move.DOUBLE_PUSH));
+                }
+            }
+
+            long captures = AttackTables.pawnAttacks(from, white) & enemy & allowed;
+            while (captures != 0) {
+                int target = Long.numberOfTrailingZeros(captures);
+                captures &= captures - 1;
+                if (promotes || mode != QUIETS) {
+                    addPawnMove(from, target, Move.CAPTURE, promotes, mode, moves);
+                }
+            }
+
+            if (mode != QUIETS && enPassant >= 0 && (AttackTables.pawnAttacks(from, white) & Bitboards.bit(enPassant)) != 0
+                    && enPassantIsLegal(board, white, king, from, enPassant, enPassant - forward, checkers, checkMask)) {
+                moves.add(Move.of(from, enPassant, 0, Move.CAPTURE | Move.EN_PASSANT));
+            }
+        }
+    }
+
+    /**
+     * addPawnMove adds a pawn move, or the promotions the mode asks for when it reaches the last rank: all four,
+     * only the queen for CAPTURES or all but the queen for QUIETS
+     *
+     * @param from starting square
+     * @param to end square
+     * @param flags Move.CAPTURE or 0
+     * @param promotes true if the pawn reaches the last rank
+     * @param mode ALL, CAPTURES or QUIETS
+     * @param moves list the moves are added to
+     */
+    private static void addPawnMove(int from, int to, int flags, boolean promotes, int mode, MoveList moves) {
+        if (promotes) {
+            if (mode != QUIETS) {
+                moves.add(Move.of(from, to, Board.QUEEN, flags));
+            }
+            if (mode == CAPTURES) {
+                return;
+            }
+            moves.add(Move.of(from, to, Board.ROOK, flags));
+            moves.add(Move.of(from, to, Board.BISHOP, flags));
+            moves.add(Move.of(from, to, Board.KNIGHT, flags));
+        }
+        else {
+            moves.add(Move.of(from, to, 0, flags));
+        }
+    }
+
+    /**
+     * enPassantIsLegal checks an en passant capture. Two pawns leave their squares at once, so a pin along the
+     * rank is not caught by the pinned mask; instead the king's lines are looked at with both pawns gone.
+     *
+     * @param board Board object where the game is being played on
+     * @param white true if white is to move
+     * @param king square of the king of the side to move
+     * @param from square of the capturing pawn
+     * @param to en passant square the pawn moves to
+     * @param captured square of the pawn being taken
+     * @param checkers mask of the pieces giving check
+     * @param checkMask squares a move must end on to deal with a check
+     * @return true if the capture does not leave the king in check
+     */
+    private static boolean enPassantIsLegal(Board board, boolean white, int king, int from, int to, int captured,
+                                            long checkers, long checkMask) {
+        // in check, the capture has to take the checking pawn or block the check
+        if ((checkMask & Bitboards.bit(to)) == 0 && (checkers & Bitboards.bit(captured)) == 0) {
+            return false;
+        }
+        long occupied = (board.getOccupied() & ~Bitboards.bit(from) & ~Bitboards.bit(captured)) | Bitboards.bit(to);
+        long queens = board.getBitboard(Board.QUEEN, !white);
+        return (Magics.rookAttacks(king, occupied) & (board.getBitboard(Board.ROOK, !white) | queens)) == 0
+                && (Magics.bishopAttacks(king, occupied) & (board.getBitboard(Board.BISHOP, !white) | queens)) == 0;
+    }
+
+    /**
+     * addCastles adds the castles still allowed by the castling rights when the squares between king and rook are
+     * empty and the king does not pass over or land on an attacked square. Only called when not in check.
+     *
+     * @param board Board object where the game is being played on
+     * @param white true if white is to move
+     * @param king square of the king of the side to move
+     * @param occupied mask of every piece
+     * @param moves list the moves are added to
+     */
+    private static void addCastles(Board board, boolean white, int king, long occupied, MoveList moves) {
+        int rights = board.getCastlingRights();
+        int home = white ? 60 : 4;
+        if (king != home) {
+            return;
+        }
+        if ((rights & (white ? Board.WHITE_KING_SIDE : Board.BLACK_KING_SIDE)) != 0
+                && (occupied & (Bitboards.bit(home + 1) | Bitboards.bit(home + 2))) == 0
+                && !board.isSquareAttacked(home + 1, !white) && !board.isSquareAttacked(home + 2, !white)) {
+            moves.add(Move.of(home, home + 2, 0, Move.CASTLE));
+        }
+        if ((rights & (white ? Board.WHITE_QUEEN_SIDE : Board.BLACK_QUEEN_SIDE)) != 0
+                && (occupied & (Bitboards.bit(home - 1) | Bitboards.bit(home - 2) | Bitboards.bit(home - 3))) == 0
+                && !board.isSquareAttacked(home - 1, !white) && !board.isSquareAttacked(home - 2, !white)) {
+            moves.add(Move.of(home, home - 2, 0, Move.CASTLE));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package pieces;
+
+/**
+ * MoveList is a reusable list of encoded moves backed by a primitive array. Clearing and refilling
+ * it does not allocate, so one list can be kept per search ply.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public final class MoveList {
+    /**
+     * the most legal moves any chess position can have
+     */
+    public static final int MAX_MOVES = 256;
+
+    /**
+     * encoded moves, only the first size entries are in use
+     */
+    private final int[] moves = new int[MAX_MOVES];
+
+    /**
+     * number of moves in the list
+     */
+    private int size;
+
+    /**
+     * add appends a move to the list
+     *
+     * @param move encoded move
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * get returns the move at an index
+     *
+     * @param index position in the list
+     * @return encoded move
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * set replaces the move at an index
+     *
+     * @param index position in the list
+     * @param move encoded move
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * swap exchanges two moves in the list
+     *
+     * @param i first index
+     * @param j second index
+     */
+    public void swap(int i, int j) {
+        int move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+    }
+
+    /**
+     * size returns the number of moves in the list
+     *
+     * @return number of moves
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * clear empties the list without releasing its storage
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * contains checks if the list holds a move with the same squares and promotion piece, ignoring flags
+     *
+     * @param move encoded move
+     * @return true if a matching move is in the list
+     */
+    public boolean contains(int move) {
+        return find(move) != Move.NONE;
+    }
+
+    /**
+     * find looks for a move with the same squares and promotion piece, ignoring flags
+     *
+     * @param move encoded move
+     * @return the move from the list with its flags set, or Move.NONE if there is none
+     */
+    public int find(int move) {
+        int index = indexOf(move);
+        return index >= 0 ? moves[index] : Move.NONE;
+    }
+
+    /**
+     * indexOf looks for a move with the same squares and promotion piece, ignoring flags
+     *
+     * @param move encoded move
+     * @return position of the move in the list, or -1 if there is none
+     */
+    public int indexOf(int move) {
+        int key = move & 0x7FFF;
+        for (int i = 0; i < size; i++) {
+            if ((moves[i] & 0x7FFF) == key) return i;
+        }
+        return -1;
+    }
+}
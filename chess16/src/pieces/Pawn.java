@@ -12,9 +12,6 @@ File: Column (up down), letters
 * */
 package pieces;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-
 /**
  * Pawn is a subclass of the abstract Piece class and Pawn.java provides the
  * implementation needed for a pawn chess piece
@@ -25,14 +22,10 @@ import java.util.Arrays;
  */
 
 public class Pawn extends Piece {
-    /**
-    * Checks if a pawn has moved twice from base
-    * */
-    boolean doubleMove = false;
     /**
      * Sees what direction a pawn has to move. If pawn is black, it moves downwards on the board (1). If pawn is white it moves upwards (-1).
      * */
-    int delta = getColor() ? -1 : 1;
+    private final int delta;
 
     /**
      * Pawn constructor
@@ -40,161 +33,85 @@ public class Pawn extends Piece {
      * @param pieceName the name of the piece
      * @param isWhite if the piece is white or not
      */
-    public Pawn(String pieceName, boolean isWhite) {
-        super(pieceName, isWhite);
-    }
-    /**
-     * Pawn constructor
-     *
-     * @param pieceName the name of the piece
-     * @param isWhite if the piece is white or not
-     * @param doubleMove if the pawn has moved twice from base. Note that this attribute is only relevant immediately after it double moves.
-     */
-    public Pawn (String pieceName, boolean isWhite, boolean doubleMove){
+    Pawn(String pieceName, boolean isWhite) {
         super(pieceName, isWhite);
-        this.doubleMove = doubleMove;
+        delta = isWhite ? -1 : 1;
     }
 
     /**
-     * validMove checks if the move made by a player can be made
+     * resolveMove checks if the move follows the movement rules of a pawn and returns it with its
+     * capture flag, en passant flag, double push flag and promotion piece filled in. It does not change the board and does not look at whether the move
+     * leaves the player's own king in check.
      *
      * @param board Board object where the game is being played on
-     * @param move the input of the player containing the current position of the piece as well as the end position
-     * @return true if the move inputted by the used is a valid move
+     * @param move the encoded move of the player containing the current position of the piece as well as the end position
+     * @return the completed move, or Move.NONE if the pawn can't move there
      */
     @Override
-    public boolean validMove(Board board, String move) {
-        String[] startEnd = move.split(" ");
-        String start = startEnd[0];
-        String end = startEnd[1];
-        int fileStart = columnMappings.get(start.charAt(0));
-        int rankStart = rowMappings.get(Integer.parseInt(start.charAt(1)+"")) ;
-        int fileEnd = columnMappings.get(end.charAt(0));
-        int rankEnd = rowMappings.get(Integer.parseInt(end.charAt(1)+""));
+    public int resolveMove(Board board, int move) {
+        int fileStart = Bitboards.fileOf(Move.from(move));
+        int rankStart = Bitboards.rankOf(Move.from(move));
+        int fileEnd = Bitboards.fileOf(Move.to(move));
+        int rankEnd = Bitboards.rankOf(Move.to(move));
+        //Promotion Check: a pawn reaching the last rank becomes a queen unless the player picked another piece
+        int promotion = 0;
+        if((rankEnd == 0 && getColor()) || (rankEnd == 7 && !getColor())){
+            promotion = Move.promotion(move) != 0 ? Move.promotion(move) : Board.QUEEN;
+        }
 
-        /*
-        System.out.println(rankStart+" "+fileStart);
-        System.out.println(rankEnd+" "+fileEnd);
-        */
         //Either you're in the same file and you just move up 1 rank.
         if(fileStart == fileEnd && rankStart + delta == rankEnd && board.getBoard()[rankEnd][fileEnd] == null){
-            // HOW DO WE UPDATE THE BOARD WITH THE NEW POSITION OF THE PIECE?
-            //CHANGE THE START FILE AND START RANK TO NULL?
-            board.getBoard()[rankEnd][fileEnd] = new Pawn(getPieceName(), getColor());
-            board.getBoard()[rankStart][fileStart] = null;
-            if(rankEnd == 0 && getColor()) promotion(board, move); //Promotion Check
-            if(rankEnd==7 && !getColor()) promotion(board, move); //Promotion Check
-            return true;
+            return Move.of(Move.from(move), Move.to(move), promotion, 0);
         }
         //Or you move diag to kill piece of the opposite color or do enpassant
         if((fileStart==fileEnd+1 || fileStart == fileEnd-1) && rankStart + delta == rankEnd){
             //Diag Kill
             if(board.getBoard()[rankEnd][fileEnd]!=null && board.getBoard()[rankEnd][fileEnd].getColor()!=this.getColor()){
-                board.getBoard()[rankEnd][fileEnd] = null;
-                board.getBoard()[rankStart][fileStart] = null;
-                board.getBoard()[rankEnd][fileEnd] = new Pawn(getPieceName(), getColor());
-                if(rankEnd == 0 && getColor()) promotion(board, move); //Promotion Check
-                if(rankEnd==7 && !getColor()) promotion(board, move); //Promotion Check
-                return true;
+                return Move.of(Move.from(move), Move.to(move), promotion, Move.CAPTURE);
             }
-            //Ennpassant
-            if(board.getBoard()[rankStart][fileEnd]!=null && board.getBoard()[rankStart][fileEnd] instanceof Pawn && board.getBoard()[rankStart][fileEnd].getColor()!=this.getColor() && ((Pawn) board.getBoard()[rankStart][fileEnd]).doubleMove){
-                board.getBoard()[rankStart][fileEnd] = null;
-                board.getBoard()[rankStart][fileStart] = null;
-                board.getBoard()[rankEnd][fileEnd] = new Pawn(getPieceName(), getColor());
-                return true;
+            //Ennpassant: the board remembers the square behind a pawn that just moved two squares
+            if(Move.to(move) == board.getEnPassantSquare()){
+                return Move.of(Move.from(move), Move.to(move), 0, Move.CAPTURE | Move.EN_PASSANT);
             }
         }
         //Finally u can have a pawn from base that moves two spaces up
-        if(Math.abs(rankEnd - rankStart) == 2 && fileEnd == fileStart){
+        if(rankEnd - rankStart == 2 * delta && fileEnd == fileStart){
             //Checks if the space in front of it is occupied
-            if(board.getBoard()[rankEnd-delta][fileEnd]!=null){
-                return false;
+            if(board.getBoard()[rankEnd-delta][fileEnd]!=null || board.getBoard()[rankEnd][fileEnd]!=null){
+                return Move.NONE;
             }
             //White double check
-            if(getColor() && rankStart==rowMappings.get(2) && board.getBoard()[rankEnd][fileEnd]==null){
-                board.getBoard()[rankEnd][fileEnd] = new Pawn(getPieceName(), getColor(), true);
-                board.getBoard()[rankStart][fileStart] = null;
-                return true;
+            if(getColor() && rankStart==6){
+                return Move.of(Move.from(move), Move.to(move), 0, Move.DOUBLE_PUSH);
             }
             //Black double check
-            if(getColor()==false && rankStart==rowMappings.get(7) && board.getBoard()[rankEnd][fileEnd]==null){
-                board.getBoard()[rankEnd][fileEnd] = new Pawn(getPieceName(), getColor(), true);
-                board.getBoard()[rankStart][fileStart] = null;
-                return true;
+            if(getColor()==false && rankStart==1){
+                return Move.of(Move.from(move), Move.to(move), 0, Move.DOUBLE_PUSH);
             }
         }
-        return false;
+        return Move.NONE;
     }
     /**
-     * promotion sees if your pawn has moved to the end of the board. If it has, it can either create a new queen (default) or a new piece of your choice.
+     * attacks gets every square a pawn on the given square attacks
      *
      * @param board Board object where the game is being played on
-     * @param move the input of the player containing the current position of the piece as well as the end position
+     * @param square square this piece is on
+     * @return mask of attacked squares
      */
-    private void promotion(Board board, String move){
-        String[] array = move.split(" ");
-        String initialChar = getColor() ? "w" : "b";
-        Piece promoPiece;
-        if(array.length == 3){
-            promoPiece = getPromoPiece(array[2]);
-        }
-        else{
-            initialChar+="Q";
-            promoPiece = new Queen(initialChar, getColor());
-        }
-        String start = array[0];
-        String end = array[1];
-        int fileStart = columnMappings.get(start.charAt(0));
-        int rankStart = rowMappings.get(Integer.parseInt(start.charAt(1)+"")) ;
-        int fileEnd = columnMappings.get(end.charAt(0));
-        int rankEnd = rowMappings.get(Integer.parseInt(end.charAt(1)+""));
-        board.getBoard()[rankEnd][fileEnd] = null;
-        board.getBoard()[rankEnd][fileEnd] = promoPiece;
-        return;
+    @Override
+    public long attacks(Board board, int square) {
+        return AttackTables.pawnAttacks(square, getColor());
     }
     /**
-     * isKingInCheck checks if the king is in check by a pawn
+     * getType gets the type index of the piece
      *
-     * @param board Board object where the game is being played on
-     * @return true if the pawn could kill a king if the king is not moved immediately
+     * @return Board.PAWN
      */
     @Override
-    public boolean isKingInCheck(Board board) {
-        int rank = 0;
-        int file = 0;
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (board.getBoard()[i][j] == this) {
-                    rank = i;
-                    file = j;
-                    break;
-                }
-            }
-        }
-
-        boolean foundCheck = false;
-        int kingRank = 0;
-        int kingFile = 0;
-        King king = null;
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (board.getBoard()[i][j] instanceof King && board.getBoard()[i][j].getColor() != this.getColor()) {
-                    king = (King) (board.getBoard()[i][j]);
-                    kingRank = i;
-                    kingFile = j;
-                    break;
-                }
-            }
-        }
-        if(rank+delta == kingRank && (file+1 == kingFile || file-1 == kingFile)){
-            king.addMap(kingRank, kingFile, this);
-            king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank, kingFile)), this);
-            //System.out.println("Check");
-            return true;
-        }
-        return false;
+    public int getType() {
+        return Board.PAWN;
     }
+
     /**
      * toString gets the name of the piece
      *
@@ -202,28 +119,4 @@ public class Pawn extends Piece {
      */
     public String toString(){
         return this.getPieceName();
-    }
-
-    /**
-     * getPromoPiece returns the new piece a player wants after reaching a promotion.
-     * @param string THe name of the piece a user wants
-     * @return Piece object.
-     */
-    private Piece getPromoPiece(String string){
-        String colorName = "";
-        boolean color  = getColor();
-        if(color) colorName+="w";
-        else colorName +="b";
-
-        if(string.equals("N")){
-            return new Knight(colorName+"N", getColor());
-        }
-        if(string.equals("R")){
-            return new Rook(colorName+"R", getColor(), true);
-        }
-        if(string.equals("B")){
-            return new Bishop(colorName+"B", getColor(), 'P');
-        }
-        return new Queen(colorName+"Q", getColor());
-    }
-}
+    }}
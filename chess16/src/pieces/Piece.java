@@ -1,9 +1,9 @@
 package pieces;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 /**
  * Piece is an abstract class which provides basic fields/methods for chess pieces.
+ * Pieces hold no state that changes during a game, so there is one shared instance for every
+ * type and color, returned by Piece.of. Everything that changes lives in the Board.
  *
  * @author Prathik Lolla
  * @author Khush Tated
@@ -15,88 +15,49 @@ public abstract class Piece {
      * name of piece
      */
 
-    private String pieceName;
+    private final String pieceName;
     /**
      * true if white, false if black
      */
 
-    private boolean isWhite;
-    /**
-     * true if the piece moved, false if it didn't
-     */
-    private boolean didMove;
-
-    /**
-     * The characters in columnMappings are mapped to an integer representing the column
-     */
-    public HashMap<Character, Integer> columnMappings;
+    private final boolean isWhite;
 
     /**
-     * The integers in rowMappings are mapped to another integer representing thw row
-     */
-    public HashMap<Integer, Integer> rowMappings;
-
-    /**
-     * Piece constructor
+     * Piece constructor. Use Piece.of to get the shared instance instead of making new pieces.
      *
      * @param pieceName name of piece
      * @param isWhite determines color of piece
      */
-    public Piece(String pieceName, boolean isWhite){
+    Piece(String pieceName, boolean isWhite){
         this.pieceName = pieceName;
         this.isWhite = isWhite;
-        columnMappings = new HashMap<>();
-        columnMappings.put('a', 0);
-        columnMappings.put('b', 1);
-        columnMappings.put('c', 2);
-        columnMappings.put('d', 3);
-        columnMappings.put('e', 4);
-        columnMappings.put('f', 5);
-        columnMappings.put('g', 6);
-        columnMappings.put('h', 7);
-
-        rowMappings = new HashMap<>();
-        rowMappings.put(8, 0);
-        rowMappings.put(7, 1);
-        rowMappings.put(6, 2);
-        rowMappings.put(5, 3);
-        rowMappings.put(4, 4);
-        rowMappings.put(3, 5);
-        rowMappings.put(2, 6);
-        rowMappings.put(1, 7);
-
     }
 
     /**
-     * Piece constructor
+     * of gets the shared piece of the given type and color
      *
-     * @param pieceName name of piece
-     * @param isWhite determines color of piece
-     * @param didMove determines if piece moved or not
+     * @param type one of Board.PAWN, Board.KNIGHT, Board.BISHOP, Board.ROOK, Board.QUEEN or Board.KING
+     * @param isWhite true for a white piece
+     * @return the shared Piece object
      */
-    public Piece(String pieceName, boolean isWhite, boolean didMove) {
-        this.pieceName = pieceName;
-        this.isWhite = isWhite;
-        this.didMove = didMove;
-        columnMappings = new HashMap<>();
-        columnMappings.put('a', 0);
-        columnMappings.put('b', 1);
-        columnMappings.put('c', 2);
-        columnMappings.put('d', 3);
-        columnMappings.put('e', 4);
-        columnMappings.put('f', 5);
-        columnMappings.put('g', 6);
-        columnMappings.put('h', 7);
+    public static Piece of(int type, boolean isWhite) {
+        return Registry.PIECES[type + (isWhite ? 0 : 6)];
+    }
 
-        rowMappings = new HashMap<>();
-        rowMappings.put(8, 0);
-        rowMappings.put(7, 1);
-        rowMappings.put(6, 2);
-        rowMappings.put(5, 3);
-        rowMappings.put(4, 4);
-        rowMappings.put(3, 5);
-        rowMappings.put(2, 6);
-        rowMappings.put(1, 7);
+    /**
+     * Registry holds the 12 shared pieces, indexed the same way as the Board's bitboards.
+     * It is a separate class so the subclasses are only built once Piece itself is ready.
+     */
+    private static final class Registry {
+        /**
+         * white pieces at indices 0-5, black pieces at 6-11
+         */
+        static final Piece[] PIECES = {
+                new Pawn("wp", true), new Knight("wN", true), new Bishop("wB", true),
+                new Rook("wR", true), new Queen("wQ", true), new King("wK", true),
+                new Pawn("bp", false), new Knight("bN", false), new Bishop("bB", false),
+                new Rook("bR", false), new Queen("bQ", false), new King("bK", false)
+        };
     }
 
     /**
@@ -106,281 +67,63 @@ public abstract class Piece {
      * @param move User-inputted move
      * @return true if the move can be made
      */
-    public abstract boolean validMove(Board board, String move);
+    public boolean validMove(Board board, String move) {
+        return validMove(board, Move.parse(move));
+    }
 
     /**
+     * validMove checks if the move made by a player can be made and makes it if it can
      *
-     *
-     * @param board Board object where game is played on
-     * @return true if king is in check
+     * @param board Chessboard object
+     * @param move move encoded with the Move class
+     * @return true if the move can be made
      */
-    public abstract boolean isKingInCheck(Board board);
+    public boolean validMove(Board board, int move) {
+        int resolved = resolveMove(board, move);
+        if (resolved == Move.NONE) {
+            return false;
+        }
+        board.makeMove(resolved);
+        return true;
+    }
 
     /**
-     * canThisPieceDie checks if a piece can be killed by another piece
+     * resolveMove checks if the move follows this piece's movement rules and returns it with its flags
+     * filled in. It does not change the board and does not look at whether the move leaves the player's
+     * own king in check; make the move with Board.makeMove and take it back with Board.unmakeMove to test that.
      *
-     * @param board Board object where game is played on
-     * @return true if piece can be killed by another piece
+     * @param board Chessboard object
+     * @param move move encoded with the Move class
+     * @return the completed move, or Move.NONE if the piece can't move that way
      */
-    public boolean canThisPieceDie(Board board) {
-       int rank = 0;
-       int file = 0;
-
-       for(int i =0; i<8; i++){
-           for(int j= 0; j<8; j++){
-               if(board.getBoard()[i][j] == this){
-                   rank = i;
-                   file = j;
-                   break;
-               }
-               if(this instanceof Bishop && board.getBoard()[i][j] instanceof Bishop) {	
-                if(((Bishop) this).distinct == ((Bishop) board.getBoard()[i][j]).distinct && this.getColor() == board.getBoard()[i][j].getColor()){	
-                    rank = i;	
-                    file = j;	
-                    break;	
-                }	
-             }
-           }
-       }
-
-        // PAWNS AND KINGS
-        if (!this.getColor()) {
-            if (rank+1 < 8) {
-                if (file + 1 < 8) {
-                    if (board.getBoard()[rank+1][file+1] != null
-                            && (board.getBoard()[rank+1][file+1] instanceof Pawn || board.getBoard()[rank+1][file+1] instanceof King)
-                            && board.getBoard()[rank+1][file+1].getColor()) {
-                        return true;
-                    }
-                }
-                if (file - 1 >= 0) {
-                    if (board.getBoard()[rank+1][file-1] != null
-                            && (board.getBoard()[rank+1][file-1] instanceof Pawn || board.getBoard()[rank+1][file-1] instanceof King)
-                            && board.getBoard()[rank+1][file+1].getColor()) {
-                        return true;
-                    }
-                }
-                if (board.getBoard()[rank+1][file] != null
-                        && board.getBoard()[rank+1][file] instanceof King && board.getBoard()[rank+1][file+1].getColor()) {
-                    return true;
-                }
-            }
-        }
-        else {
-            if (rank-1 >= 0) {
-                if (file + 1 < 8) {
-                    if (board.getBoard()[rank-1][file+1] != null
-                            && (board.getBoard()[rank-1][file+1] instanceof Pawn || board.getBoard()[rank+1][file+1] instanceof King)
-                            && !board.getBoard()[rank+1][file+1].getColor()) {
-                        return true;
-                    }
-                }
-                if (file - 1 >= 0) {
-                    if (board.getBoard()[rank-1][file-1] != null
-                            && (board.getBoard()[rank-1][file-1] instanceof Pawn || board.getBoard()[rank+1][file-1] instanceof King)
-                            && !board.getBoard()[rank+1][file+1].getColor()) {
-                        return true;
-                    }
-                }
-                if (board.getBoard()[rank-1][file] != null
-                        && board.getBoard()[rank-1][file] instanceof King && !board.getBoard()[rank+1][file+1].getColor()) {
-                    return true;
-                }
-            }
-        }
-        if (diagonalKill(board, rank, file) || straightKill(board, rank, file) || knightKill(board, rank, file)) {
-            return true;
-        }
-
-        return false;
-    }
+    public abstract int resolveMove(Board board, int move);
 
     /**
-     * diagonalKill checks if a piece can be killed by a queen or a bishop
+     * attacks gets every square this piece attacks from the given square
      *
-     * @param board Board object where the game is played on
-     * @param rank rank of piece
-     * @param file file of piece
-     * @return true if the piece can be killed by a diagonal move
+     * @param board Board object where game is played on
+     * @param square square this piece is on
+     * @return mask of attacked squares
      */
-    public boolean diagonalKill(Board board, int rank, int file) {
-        for (int i = 1; rank-i >= 0 && file-i >= 0; i++) {
-            if (board.getBoard()[rank-i][file-i] != null) {
-                if ((board.getBoard()[rank-i][file-i] instanceof Bishop || board.getBoard()[rank-i][file-i] instanceof Queen)
-                        && board.getBoard()[rank-i][file-i].getColor() != board.getBoard()[rank][file].getColor()) {
-                    return true;
-                }
-                else {
-                    break;
-                }
-
-            }
-        }
-        for (int i = 1; rank+i < 8 && file-i >= 0; i++) {
-            if (board.getBoard()[rank+i][file-i] != null) {
-                if ((board.getBoard()[rank+i][file-i] instanceof Bishop || board.getBoard()[rank+i][file-i] instanceof Queen)
-                        && board.getBoard()[rank+i][file-i].getColor() != board.getBoard()[rank][file].getColor()) {
-                    return true;
-                }
-                else {
-                    break;
-                }
-
-            }
-        }
-        for (int i = 1; rank-i >= 0 && file+i < 8; i++) {
-            if (board.getBoard()[rank-i][file+i] != null) {
-                if ((board.getBoard()[rank-i][file+i] instanceof Bishop || board.getBoard()[rank-i][file+i] instanceof Queen)
-                        && board.getBoard()[rank-i][file+i].getColor() != board.getBoard()[rank][file].getColor()) {
-                    return true;
-                }
-                else {
-                    break;
-                }
-
-            }
-        }
-        for (int i = 1; rank+i < 8 && file+i < 8; i++) {
-            if (board.getBoard()[rank+i][file+i] != null) {
-                if ((board.getBoard()[rank+i][file+i] instanceof Bishop || board.getBoard()[rank+i][file+i] instanceof Queen)
-                        && board.getBoard()[rank+i][file+i].getColor() != board.getBoard()[rank][file].getColor()) {
-                    return true;
-                }
-                else {
-                    break;
-                }
-
-            }
-        }
-        return false;
-    }
+    public abstract long attacks(Board board, int square);
 
     /**
-     * straightKill checks if a piece can be killed by a queen or a rook
-     * @param board Board object where the game is played on
-     * @param rank rank of piece
-     * @param file file of piece
-     * @return true if the piece can be killed by a queen or a rook
+     * isKingInCheck checks if this piece, standing on the given square, attacks the enemy king
+     *
+     * @param board Board object where game is played on
+     * @param square square this piece is on
+     * @return true if king is in check
      */
-    public boolean straightKill(Board board, int rank, int file) {
-        for (int i = 1; rank+i < 8; i++) {
-            if (board.getBoard()[rank+i][file] != null) {
-                if ((board.getBoard()[rank+i][file] instanceof Rook || board.getBoard()[rank+i][file] instanceof Queen)
-                        && board.getBoard()[rank+i][file].getColor() != board.getBoard()[rank][file].getColor()) {
-                    return true;
-                }
-                else {
-                    break;
-                }
-            }
-
-        }
-        for (int i = 1; rank-i >= 0; i++) {
-            if (board.getBoard()[rank-i][file] != null) {
-                if ((board.getBoard()[rank-i][file] instanceof Rook || board.getBoard()[rank-i][file] instanceof Queen)
-                        && board.getBoard()[rank-i][file].getColor() != board.getBoard()[rank][file].getColor()) {
-                    return true;
-                }
-                else {
-                    break;
-                }
-            }
-
-        }
-        for (int i = 1; file+i < 8; i++) {
-            if (board.getBoard()[rank][file+i] != null) {
-                if ((board.getBoard()[rank][file+i] instanceof Rook || board.getBoard()[rank][file+i] instanceof Queen)
-                        && board.getBoard()[rank][file+i].getColor() != board.getBoard()[rank][file].getColor()) {
-                    return true;
-                }
-                else {
-                    break;
-                }
-            }
-
-        }
-        for (int i = 1; file-i >= 0; i++) {
-            if (board.getBoard()[rank][file-i] != null) {
-                if ((board.getBoard()[rank][file-i] instanceof Rook || board.getBoard()[rank][file-i] instanceof Queen)
-                        && board.getBoard()[rank][file-i].getColor() != board.getBoard()[rank][file].getColor()) {
-                    return true;
-                }
-                else {
-                    break;
-                }
-            }
-
-        }
-
-        return false;
+    public boolean isKingInCheck(Board board, int square) {
+        return (attacks(board, square) & board.getBitboard(Board.KING, !getColor())) != 0;
     }
 
     /**
-     * knightKill checks to see whether a piece could be killed by a knight
-     * @param board Board object where the game is played on
-     * @param endRank rank of piece
-     * @param endFile file of piece
-     * @return true if piece can be killed by a knight
+     * getType gets the type index of the piece, used to pick its bitboard
+     *
+     * @return one of Board.PAWN, Board.KNIGHT, Board.BISHOP, Board.ROOK, Board.QUEEN or Board.KING
      */
-    public boolean knightKill(Board board, int endRank, int endFile) {
-        if (endRank+2 < 8 && endFile+1 < 8) {
-            if (board.getBoard()[endRank+2][endFile+1] != null
-                    && board.getBoard()[endRank+2][endFile+1] instanceof Knight
-                    && board.getBoard()[endRank+2][endFile+1].getColor() != board.getBoard()[endRank][endFile].getColor()) {
-                return true;
-            }
-        }
-        if (endRank+2 < 8 && endFile-1 >=0) {
-            if (board.getBoard()[endRank+2][endFile-1] != null
-                    && board.getBoard()[endRank+2][endFile-1] instanceof Knight
-                    && board.getBoard()[endRank+2][endFile-1].getColor() != board.getBoard()[endRank][endFile].getColor()) {
-                return true;
-            }
-        }
-        if (endRank-2 >= 0 && endFile+1 < 8) {
-            if (board.getBoard()[endRank-2][endFile+1] != null
-                    && board.getBoard()[endRank-2][endFile+1] instanceof Knight
-                    && board.getBoard()[endRank-2][endFile+1].getColor() != board.getBoard()[endRank][endFile].getColor()) {
-                return true;
-            }
-        }
-        if (endRank-2 >= 0 && endFile-1 >= 0) {
-            if (board.getBoard()[endRank-2][endFile-1] != null
-                    && board.getBoard()[endRank-2][endFile-1] instanceof Knight
-                    && board.getBoard()[endRank-2][endFile-1].getColor() != board.getBoard()[endRank][endFile].getColor()) {
-                return true;
-            }
-        }
-        else if (endRank+1 < 8 && endFile+2 < 8) {
-            if (board.getBoard()[endRank+1][endFile+2] != null
-                    && board.getBoard()[endRank+1][endFile+2] instanceof Knight
-                    && board.getBoard()[endRank+1][endFile+2].getColor() != board.getBoard()[endRank][endFile].getColor()) {
-                return true;
-            }
-        }
-        if (endRank+1 < 8 && endFile-2 >= 0) {
-            if (board.getBoard()[endRank+1][endFile-2] != null
-                    && board.getBoard()[endRank+1][endFile-2] instanceof Knight
-                    && board.getBoard()[endRank+1][endFile-2].getColor() != board.getBoard()[endRank][endFile].getColor()) {
-                return true;
-            }
-        }
-        if (endRank-1 >= 0 && endFile+2 < 8) {
-            if (board.getBoard()[endRank-1][endFile+2] != null
-                    && board.getBoard()[endRank-1][endFile+2] instanceof Knight
-                    && board.getBoard()[endRank-1][endFile+2].getColor() != board.getBoard()[endRank][endFile].getColor()) {
-                return true;
-            }
-        }
-        if (endRank-1 >= 0 && endFile-2 >= 0) {
-            if (board.getBoard()[endRank-1][endFile-2] != null
-                    && board.getBoard()[endRank-1][endFile-2] instanceof Knight
-                    && board.getBoard()[endRank-1][endFile-2].getColor() != board.getBoard()[endRank][endFile].getColor()) {
-                return true;
-            }
-        }
-        return false;
-    }
+    public abstract int getType();
 
     /**
      * getPieceName gets name of piece
@@ -401,13 +144,4 @@ public abstract class Piece {
         return isWhite;
     }
 
-    /**
-     * didItMove checks if piece moved
-     *
-     * @return true if piece moved, false if it didn't
-     */
-    public boolean didItMove() {
-        return didMove;
-    }
-
 }
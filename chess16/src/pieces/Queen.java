@@ -1,8 +1,5 @@
 package pieces;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-
 /**
  * Queen is a subclass of the abstract Piece class and Queen.java provides the
  * implementation needed for a queen chess piece
@@ -20,50 +17,42 @@ public class Queen extends Piece{
      * @param pieceName name of piece
      * @param isWhite determines if piece is white or not
      */
-    public Queen(String pieceName, boolean isWhite) {
+    Queen(String pieceName, boolean isWhite) {
         super(pieceName, isWhite);
     }
 
     /**
-     * validMove checks if the move made by a player can be made
+     * resolveMove checks if the move follows the movement rules of a queen and returns it with its
+     * capture flag filled in. It does not change the board and does not look at whether the move
+     * leaves the player's own king in check.
      *
      * @param board Board object where the game is being played on
-     * @param move the input of the player containing the current position of the piece as well as the end position
-     * @return true if the move inputted by the used is a valid move
+     * @param move the encoded move of the player containing the current position of the piece as well as the end position
+     * @return the completed move, or Move.NONE if the queen can't move there
      */
     @Override
-    public boolean validMove(Board board, String move) {
-        String[] startEnd = move.split(" ");
-        String start = startEnd[0];
-        String end = startEnd[1];
-        int startRank = rowMappings.get(Integer.parseInt(start.charAt(1)+""));
-        int startFile = columnMappings.get(start.charAt(0));
+    public int resolveMove(Board board, int move) {
+        int startRank = Bitboards.rankOf(Move.from(move));
+        int startFile = Bitboards.fileOf(Move.from(move));
 
-        int endRank = rowMappings.get(Integer.parseInt(end.charAt(1)+""));
-        int endFile = columnMappings.get(end.charAt(0));
+        int endRank = Bitboards.rankOf(Move.to(move));
+        int endFile = Bitboards.fileOf(Move.to(move));
 
         int file = Math.abs(endFile - startFile);
         int rank = Math.abs(endRank - startRank);
 
-        if ((file == rank) || (file > 0 && rank == 0) || (file == 0 && rank > 0)) {
+        if ((file == rank && file > 0) || (file > 0 && rank == 0) || (file == 0 && rank > 0)) {
             if ((file == rank) && diagonalCheckPiecesInPath(board, startRank, startFile, endRank, endFile)
                     || ((file > 0 && rank == 0) || (file == 0 && rank > 0)) && straightCheckPiecesInPath(board, startRank, startFile, endRank, endFile)) {
-                if (board.getBoard()[endRank][endFile] != null && board.getBoard()[endRank][endFile].getColor() != this.getColor()) {
-                    board.getBoard()[endRank][endFile] = null;
-                    board.getBoard()[startRank][startFile] = null;
-                    board.getBoard()[endRank][endFile] = new Queen(getPieceName(), getColor());
-                    return true;
-                }
-                else if (board.getBoard()[endRank][endFile] != null && board.getBoard()[endRank][endFile].getColor() == this.getColor()){
-                    return false;
+                Piece target = board.getBoard()[endRank][endFile];
+                if (target != null && target.getColor() == this.getColor()){
+                    return Move.NONE;
                 }
-                board.getBoard()[endRank][endFile] = new Queen(getPieceName(), getColor());
-                board.getBoard()[startRank][startFile] = null;
-                return true;
+                return Move.of(Move.from(move), Move.to(move), 0, target != null ? Move.CAPTURE : 0);
             }
 
         }
-        return false;
+        return Move.NONE;
     }
 
     /**
@@ -78,46 +67,8 @@ public class Queen extends Piece{
      * @return true if there are no pieces in between the current position and the desired position
      */
     public boolean diagonalCheckPiecesInPath(Board board, int startRank, int startFile, int endRank, int endFile) {
-        int file = endFile - startFile;
-        int rank = endRank - startRank;
-        if (Math.abs(file) == Math.abs(rank)) {
-
-            // both positive
-            if (file > 0 && rank > 0) {
-                for (int i = 1; i < file; i++) {
-                    if (board.getBoard()[startRank + i][startFile + i] != null) {
-                        return false;
-                    }
-                }
-            }
-            // positive file negative rank
-            if (file > 0 && rank < 0) {
-                for (int i = 1; i < file && i < Math.abs(rank); i++) {
-                    if (board.getBoard()[startRank - i][startFile + i] != null) {
-                        return false;
-                    }
-                }
-            }
-            // negative file positive rank
-            if (file < 0 && rank > 0) {
-                for (int i = 1; i < Math.abs(file) && i < rank; i++) {
-                    if (board.getBoard()[startRank + i][startFile - i] != null) {
-                        return false;
-                    }
-                }
-            }
-            // both negative
-            if (file < 0 && rank < 0) {
-                for (int i = 1; i < Math.abs(rank); i++) {
-                    if (board.getBoard()[startRank - i][startFile - i] != null) {
-                        return false;
-                    }
-                }
-            }
-            return true;
-        }
-        return false;
-
+        long attacks = Magics.bishopAttacks(Bitboards.square(startRank, startFile), board.getOccupied());
+        return (attacks & Bitboards.bit(Bitboards.square(endRank, endFile))) != 0;
     }
 
     /**
@@ -132,251 +83,30 @@ public class Queen extends Piece{
      * @return true if there are no pieces in between the current position and the desired position
      */
     public boolean straightCheckPiecesInPath(Board board, int startRank, int startFile, int endRank, int endFile) {
-        int file = endFile - startFile;
-        int rank = endRank - startRank;
-
-        if (file > 0 && rank == 0) {
-            for (int i = 1; i < file; i++) {
-                if (board.getBoard()[startRank][startFile + i] != null) {
-                    return false;
-                }
-            }
-        }
-        if (file < 0 && rank == 0) {
-            for (int i = Math.abs(file)-1; i > 0; i--) {
-                if (board.getBoard()[startRank][startFile - i] != null) {
-                    return false;
-                }
-            }
-        }
-        if (file == 0 && rank > 0) {
-            for (int i = 1; i < rank; i++) {
-                if (board.getBoard()[startRank + i][startFile] != null) {
-                    return false;
-                }
-            }
-        }
-        if (file == 0 && rank < 0) {
-            for (int i = Math.abs(rank)-1; i > 0; i--) {
-                if (board.getBoard()[startRank - i][startFile] != null) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        long attacks = Magics.rookAttacks(Bitboards.square(startRank, startFile), board.getOccupied());
+        return (attacks & Bitboards.bit(Bitboards.square(endRank, endFile))) != 0;
     }
     /**
-     * isKingInCheck checks if the king is in check by a queen
+     * attacks gets every square a queen on the given square attacks
      *
      * @param board Board object where the game is being played on
-     * @return true if the queen could kill a king if the king is not moved immediately
+     * @param square square this piece is on
+     * @return mask of attacked squares
      */
     @Override
-    public boolean isKingInCheck(Board board) {
-        int rank = 0;
-        int file = 0;
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (board.getBoard()[i][j] == this) {
-                    rank = i;
-                    file = j;
-                    break;
-                }
-            }
-        }
-        boolean foundCheck = false; //bottom right to top left
-        boolean foundCheck2 = false; //bottom left to top right
-        boolean foundCheck3 = false; // up to down
-        boolean foundCheck4 = false; // left to right
-        int kingRank = 0;
-        int kingFile = 0;
-        King king = null;
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (board.getBoard()[i][j] instanceof King && board.getBoard()[i][j].getColor() != this.getColor()) {
-                    king = (King) (board.getBoard()[i][j]);
-                    kingRank = i;
-                    kingFile = j;
-                    break;
-                }
-            }
-        }
-        // FINDING CHECK (STRAIGHT)
-
-        if (kingRank == rank || kingFile == file) {
-            //down
-            if (kingRank > rank && kingFile == file) {
-                for (int i = 1; rank + i <= kingRank; i++) {
-                    if (board.getBoard()[rank + i][file] != null) {
-                        if (board.getBoard()[rank + i][file] instanceof King && board.getBoard()[rank + i][file].getColor() != this.getColor()) {
-                            foundCheck3 = true;
-                            break;
-                        }
-                        else{
-                            break;
-                        }
-                    }
-                }
-            }
-            //up
-            else if (kingRank < rank && kingFile == file) {
-                for (int i = 1; rank - i >= kingRank; i++) {
-                    if (board.getBoard()[rank - i][file] != null) {
-                        if (board.getBoard()[rank - i][file] instanceof King && board.getBoard()[rank - i][file].getColor() != this.getColor()) {
-                            foundCheck3 = true;
-                            break;
-                        }
-                        else{
-                            break;
-                        }
-                    }
-                }
-            }
-            //left
-            else if (kingRank == rank && kingFile > file) {
-                for (int i = 1; file + i <= kingFile; i++) {
-                    if (board.getBoard()[rank][file+i] != null) {
-                        if (board.getBoard()[rank][file+i] instanceof King && board.getBoard()[rank][file+i].getColor() != this.getColor()) {
-                            foundCheck4 = true;
-                            break;
-                        }
-                        else{
-                            break;
-                        }
-                    }
-                }
-            }
-            //right
-            else if (kingRank == rank && kingFile < file) {
-                for (int i = 1; file - i >= kingFile; i++) {
-                    if (board.getBoard()[rank][file-i] != null) {
-                        if (board.getBoard()[rank][file-i] instanceof King && board.getBoard()[rank][file-i].getColor() != this.getColor()) {
-                            foundCheck4 = true;
-                            break;
-                        }
-                        else{
-                            break;
-                        }
-                    }
-                }
-            }
-        }
-        // FINDING CHECK (DIAGONAL)
-        //bottom left
-        else {
-            if (kingRank > rank && kingFile < file) {
-                for (int i = 1; rank + i <= kingRank && file - i >= kingFile; i++) {
-                    if (board.getBoard()[rank + i][file - i] != null) {
-                        if (board.getBoard()[rank + i][file - i] instanceof King && board.getBoard()[rank + i][file - i].getColor() != this.getColor()) {
-                            foundCheck2 = true;
-                            break;
-                        }
-                        else{
-                            break;
-                        }
-                    }
-                }
-            }
-            //bottom right
-            else if (kingRank > rank && kingFile > file) {
-                for (int i = 1; rank + i <= kingRank && file + i <= kingFile; i++) {
-                    if (board.getBoard()[rank + i][file + i] != null) {
-                        if (board.getBoard()[rank + i][file + i] instanceof King && board.getBoard()[rank + i][file + i].getColor() != this.getColor()) {
-                            foundCheck = true;
-                            break;
-                        }
-                        else{
-                            break;
-                        }
-                    }
-                }
-            }
-            //top left
-            else if (kingRank < rank && kingFile < file) {
-                for (int i = 1; rank - i >= kingRank && file - i >= kingFile; i++) {
-                    if (board.getBoard()[rank - i][file - i] != null) {
-                        if (board.getBoard()[rank - i][file - i] instanceof King && board.getBoard()[rank - i][file - i].getColor() != this.getColor()) {
-                            foundCheck = true;
-                            break;
-                        }
-                        else{
-                            break;
-                        }
-                    }
-                }
-            }
-            //top right
-            else if (kingRank < rank && kingFile > file) {
-                for (int i = 1; rank - i >= kingRank && file + i <= kingFile; i++) {
-                    if (board.getBoard()[rank - i][file + i] != null) {
-                        if (board.getBoard()[rank - i][file + i] instanceof King && board.getBoard()[rank - i][file + i].getColor() != this.getColor()) {
-                            foundCheck2 = true;
-                            break;
-                        }
-                        else{
-                            break;
-                        }
-                    }
-                }
-            }
-        }
-
-        if (foundCheck) {
-            //System.out.println("Check");
-            king.addMap(kingRank, kingFile, this);
-            king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank, kingFile)), this);
-            if (kingRank + 1 < 8 && kingFile + 1 < 8) {
-                // bottom right
-                king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank+1, kingFile+1)), this);
-            }
-            if (kingRank - 1 >= 0 && kingFile - 1 >= 0){
-                // top left
-                king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank-1, kingFile-1)), this);
-            }
-            return true;
-        }
-        else if (foundCheck2) {
-            //System.out.println("Check");
-            king.addMap(kingRank, kingFile, this);
-            king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank, kingFile)), this);
-            if (kingRank + 1 < 8 && kingFile - 1 >= 0) {
-                // bottom left
-                king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank+1, kingFile-1)), this);
-            }
-            if (kingRank - 1 >= 0 && kingFile + 1 >= 0){
-                // top right
-                king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank-1, kingFile+1)), this);
-            }
-            return true;
-        }
-        else if (foundCheck3) {
-            //System.out.println("Check");
-            king.addMap(kingRank, kingFile, this);
-            king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank, kingFile)), this);
-            if (kingRank + 1 < 8) {
-                king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank+1, kingFile)), this);
-            }
-            if (kingRank - 1 >= 0) {
-                king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank-1, kingFile)), this);
-            }
-            return true;
-        }
-        else if (foundCheck4) {
-            //System.out.println("Check");
-            king.addMap(kingRank, kingFile, this);
-            king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank, kingFile)), this);
-            if (kingFile + 1 < 8) {
-                king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank, kingFile+1)), this);
-            }
-            if (kingFile - 1 >= 0) {
-                king.map.put(new ArrayList<Integer>(Arrays.asList(kingRank, kingFile-1)), this);
-            }
-            return true;
-        }
-
-
-        return false;
+    public long attacks(Board board, int square) {
+        return Magics.queenAttacks(square, board.getOccupied());
     }
+    /**
+     * getType gets the type index of the piece
+     *
+     * @return Board.QUEEN
+     */
+    @Override
+    public int getType() {
+        return Board.QUEEN;
+    }
+
     /**
      * toString gets the name of the piece
      *
@@ -0,0 +1,114 @@
+package pieces;
+
+/**
+ * Zobrist holds the random numbers used to give every position a 64-bit key. The key of a position is the
+ * XOR of one number per piece on its square, one for the castling rights, one for the file of the en passant
+ * square and one when black is to move. Because XOR undoes itself, a move only has to XOR in and out the few
+ * numbers it changes, so Board keeps its key up to date in constant time per move.
+ *
+ * The numbers come from a fixed-seed generator, so keys are the same on every run and can be stored.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public final class Zobrist {
+    /**
+     * one number per piece per square, indexed by bitboard index * 64 + square
+     */
+    private static final long[] PIECE_SQUARE = new long[12 * 64];
+
+    /**
+     * one number per combination of castling rights
+     */
+    private static final long[] CASTLING = new long[16];
+
+    /**
+     * one number per file of the en passant square
+     */
+    private static final long[] EN_PASSANT_FILE = new long[8];
+
+    /**
+     * number XORed in when black is to move
+     */
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        long[] state = {0x2545F4914F6CDD1DL};
+        for (int i = 0; i < PIECE_SQUARE.length; i++) {
+            PIECE_SQUARE[i] = next(state);
+        }
+        // each castling right gets its own number and a combination is the XOR of its rights
+        long[] rights = {next(state), next(state), next(state), next(state)};
+        for (int r = 0; r < 16; r++) {
+            for (int bit = 0; bit < 4; bit++) {
+                if ((r & (1 << bit)) != 0) {
+                    CASTLING[r] ^= rights[bit];
+                }
+            }
+        }
+        for (int file = 0; file < 8; file++) {
+            EN_PASSANT_FILE[file] = next(state);
+        }
+        BLACK_TO_MOVE = next(state);
+    }
+
+    /**
+     * Zobrist is a static lookup class and is never instantiated
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * next steps a splitmix64 generator
+     *
+     * @param state one-element array holding the generator state
+     * @return next random number
+     */
+    private static long next(long[] state) {
+        long z = (state[0] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * piece gets the number for a piece standing on a square
+     *
+     * @param index bitboard index of the piece, between 0 and 11
+     * @param square square index
+     * @return random number of the piece on the square
+     */
+    public static long piece(int index, int square) {
+        return PIECE_SQUARE[(index << 6) | square];
+    }
+
+    /**
+     * castling gets the number for a set of castling rights
+     *
+     * @param rights combination of the Board *_SIDE bits
+     * @return random number of the castling rights
+     */
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * enPassant gets the number for an en passant square
+     *
+     * @param square en passant square, or -1 if there is none
+     * @return random number of the square's file, 0 if there is no en passant square
+     */
+    public static long enPassant(int square) {
+        return square < 0 ? 0L : EN_PASSANT_FILE[square & 7];
+    }
+
+    /**
+     * blackToMove gets the number XORed in when black is to move
+     *
+     * @return random number of the side to move
+     */
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+}
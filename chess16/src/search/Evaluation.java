@@ -0,0 +1,40 @@
+package search;
+
+import pieces.Board;
+import pieces.PieceSquareTables;
+
+/**
+ * Evaluation scores a position from the point of view of the side to move, in centipawns. The score is the
+ * material and piece-square value of every piece, blended between middlegame and endgame values by how much
+ * material is left. Board keeps both sums and the phase up to date as moves are made and taken back, so
+ * evaluating a position never looks at the squares.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public final class Evaluation {
+    /**
+     * plain value of each piece type in centipawns, indexed by Board.PAWN to Board.KING, for weighing captures
+     */
+    public static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+    /**
+     * Evaluation is a static helper class and is never instantiated
+     */
+    private Evaluation() {
+    }
+
+    /**
+     * evaluate scores a position for the side to move
+     *
+     * @param board Board object to score
+     * @return score in centipawns, positive when the side to move is better
+     */
+    public static int evaluate(Board board) {
+        int phase = Math.min(board.getPhase(), PieceSquareTables.MAX_PHASE);
+        int score = (board.getMiddlegameScore() * phase + board.getEndgameScore() * (PieceSquareTables.MAX_PHASE - phase))
+                / PieceSquareTables.MAX_PHASE;
+        return board.isWhiteToMove() ? score : -score;
+    }
+}
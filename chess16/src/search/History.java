@@ -0,0 +1,112 @@
+package search;
+
+import pieces.Move;
+
+/**
+ * History remembers which quiet moves caused cutoffs, to try them early next time. The killer moves of a ply are
+ * the last two quiet moves that caused a cutoff at that distance from the root; sibling positions tend to be
+ * refuted by the same move. The history table scores every quiet move by side, from square and to square, adding
+ * more for cutoffs found deeper in the tree.
+ *
+ * Each searching thread keeps its own History; sharing one would only add contention.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class History {
+    /**
+     * history score at which every score is halved, so the table keeps favouring recent cutoffs
+     */
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    /**
+     * two killer moves per ply, the newest first
+     */
+    private final int[][] killers = new int[Search.MAX_PLY + 1][2];
+
+    /**
+     * cutoff score of each quiet move, indexed by side (0 white, 1 black) * 4096 + from * 64 + to
+     */
+    private final int[] history = new int[2 * 64 * 64];
+
+    /**
+     * clear forgets every killer and history score
+     */
+    public void clear() {
+        for (int[] ply : killers) {
+            ply[0] = Move.NONE;
+            ply[1] = Move.NONE;
+        }
+        java.util.Arrays.fill(history, 0);
+    }
+
+    /**
+     * newSearch gets ready for a search from a new root: killers belong to the old plies, history is kept but
+     * weighs less
+     */
+    public void newSearch() {
+        for (int[] ply : killers) {
+            ply[0] = Move.NONE;
+            ply[1] = Move.NONE;
+        }
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 3;
+        }
+    }
+
+    /**
+     * addCutoff records a quiet move that caused a cutoff
+     *
+     * @param white true if white made the move
+     * @param move encoded quiet move
+     * @param ply distance from the root
+     * @param depth depth left when the cutoff happened
+     */
+    public void addCutoff(boolean white, int move, int ply, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int index = index(white, move);
+        history[index] += depth * depth;
+        if (history[index] > HISTORY_LIMIT) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * killer gets a killer move of a ply
+     *
+     * @param ply distance from the root
+     * @param slot 0 for the newest killer, 1 for the one before
+     * @return encoded move, or Move.NONE
+     */
+    public int killer(int ply, int slot) {
+        return killers[ply][slot];
+    }
+
+    /**
+     * score gets the history score of a quiet move
+     *
+     * @param white true if white makes the move
+     * @param move encoded move
+     * @return score, higher for moves that caused more and deeper cutoffs
+     */
+    public int score(boolean white, int move) {
+        return history[index(white, move)];
+    }
+
+    /**
+     * index finds the history slot of a move
+     *
+     * @param white true if white makes the move
+     * @param move encoded move
+     * @return index into the history table
+     */
+    private static int index(boolean white, int move) {
+        return (white ? 0 : 4096) | (Move.from(move) << 6) | Move.to(move);
+    }
+}
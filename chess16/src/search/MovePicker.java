@@ -0,0 +1,340 @@
+package search;
+
+import pieces.Board;
+import pieces.Move;
+import pieces.MoveGenerator;
+import pieces.MoveList;
+import pieces.Piece;
+
+/**
+ * MovePicker hands out the legal moves of a position one at a time, the likeliest best first, and only does the
+ * work for a stage once the moves before it are used up. The stages are:
+ *
+ * 1. the hint move, usually the best move stored in the transposition table, checked for legality first
+ * 2. captures and queen promotions that do not lose material, most valuable victim and least valuable attacker
+ *    first
+ * 3. the two killer moves of the ply
+ * 4. the other quiet moves, highest history score first
+ * 5. captures that lose material by static exchange
+ *
+ * Quiet moves are only generated when stage 4 is reached, so a cutoff on a capture or killer saves generating
+ * them at all. In capture mode only stage 2 is used, for quiescence search.
+ *
+ * A picker is reused: init starts it on a new position. Search keeps one per ply, so nothing is allocated while
+ * it runs.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class MovePicker {
+    /**
+     * stage: try the hint move
+     */
+    private static final int HINT = 0;
+
+    /**
+     * stage: generate and score the captures
+     */
+    private static final int GENERATE_CAPTURES = 1;
+
+    /**
+     * stage: hand out the captures that do not lose material
+     */
+    private static final int GOOD_CAPTURES = 2;
+
+    /**
+     * stage: try the newest killer move
+     */
+    private static final int FIRST_KILLER = 3;
+
+    /**
+     * stage: try the older killer move
+     */
+    private static final int SECOND_KILLER = 4;
+
+    /**
+     * stage: generate and score the quiet moves
+     */
+    private static final int GENERATE_QUIETS = 5;
+
+    /**
+     * stage: hand out the quiet moves
+     */
+    private static final int QUIETS = 6;
+
+    /**
+     * stage: hand out the captures that lose material
+     */
+    private static final int BAD_CAPTURES = 7;
+
+    /**
+     * stage: no moves left
+     */
+    private static final int DONE = 8;
+
+    /**
+     * killer moves and history scores, or null to order quiet moves as generated
+     */
+    private final History history;
+
+    /**
+     * static exchange evaluator for sorting out losing captures
+     */
+    private final StaticExchange exchange = new StaticExchange();
+
+    /**
+     * captures and queen promotions not yet handed out
+     */
+    private final MoveList captures = new MoveList();
+
+    /**
+     * ordering score of each entry in captures
+     */
+    private final int[] captureScores = new int[MoveList.MAX_MOVES];
+
+    /**
+     * captures found to lose material, handed out last
+     */
+    private final MoveList badCaptures = new MoveList();
+
+    /**
+     * quiet moves not yet handed out
+     */
+    private final MoveList quiets = new MoveList();
+
+    /**
+     * ordering score of each entry in quiets
+     */
+    private final int[] quietScores = new int[MoveList.MAX_MOVES];
+
+    /**
+     * position the moves are picked for
+     */
+    private Board board;
+
+    /**
+     * move to try first, Move.NONE for none
+     */
+    private int hint;
+
+    /**
+     * killer moves that were handed out, so the quiet stage can skip them
+     */
+    private int firstKiller;
+
+    /**
+     * see firstKiller
+     */
+    private int secondKiller;
+
+    /**
+     * distance from the root, to look up the killer moves
+     */
+    private int ply;
+
+    /**
+     * true to hand out only captures that do not lose material
+     */
+    private boolean capturesOnly;
+
+    /**
+     * current stage
+     */
+    private int stage;
+
+    /**
+     * position in the list of the current stage
+     */
+    private int next;
+
+    /**
+     * MovePicker constructor
+     *
+     * @param history killer moves and history scores to order quiet moves by, or null for none
+     */
+    public MovePicker(History history) {
+        this.history = history;
+    }
+
+    /**
+     * init starts picking every legal move of a position
+     *
+     * @param board Board object to pick moves for; must not change until the picker is done, apart from moves
+     *              made and taken back again between calls to next
+     * @param hint move to try first, Move.NONE for none; it is checked for legality
+     * @param ply distance from the root, to look up the killer moves
+     */
+    public void init(Board board, int hint, int ply) {
+        this.board = board;
+        this.hint = hint;
+        this.ply = ply;
+        capturesOnly = false;
+        firstKiller = Move.NONE;
+        secondKiller = Move.NONE;
+        stage = HINT;
+    }
+
+    /**
+     * initCaptures starts picking only the captures and queen promotions of a position that do not lose material
+     *
+     * @param board Board object to pick moves for, see init
+     */
+    public void initCaptures(Board board) {
+        this.board = board;
+        hint = Move.NONE;
+        capturesOnly = true;
+        stage = GENERATE_CAPTURES;
+    }
+
+    /**
+     * next hands out the next move
+     *
+     * @return encoded legal move, or Move.NONE when there are no moves left
+     */
+    public int next() {
+        while (true) {
+            switch (stage) {
+                case HINT:
+                    stage = GENERATE_CAPTURES;
+                    if (MoveGenerator.isLegal(board, hint)) {
+                        return hint;
+                    }
+                    hint = Move.NONE;
+                    break;
+                case GENERATE_CAPTURES:
+                    scoreCaptures();
+                    badCaptures.clear();
+                    next = 0;
+                    stage = GOOD_CAPTURES;
+                    break;
+                case GOOD_CAPTURES:
+                    while (next < captures.size()) {
+                        int move = pickBest(captures, captureScores, next++);
+                        if (move == hint) {
+                            continue;
+                        }
+                        if (!winsOrTrades(move)) {
+                            badCaptures.add(move);
+                            continue;
+                        }
+                        return move;
+                    }
+                    stage = capturesOnly ? DONE : FIRST_KILLER;
+                    break;
+                case FIRST_KILLER:
+                    stage = SECOND_KILLER;
+                    if (history != null) {
+                        int killer = history.killer(ply, 0);
+                        if (killer != hint && Search.isQuiet(killer) && MoveGenerator.isLegal(board, killer)) {
+                            firstKiller = killer;
+                            return killer;
+                        }
+                    }
+                    break;
+                case SECOND_KILLER:
+                    stage = GENERATE_QUIETS;
+                    if (history != null) {
+                        int killer = history.killer(ply, 1);
+                        if (killer != hint && Search.isQuiet(killer) && MoveGenerator.isLegal(board, killer)) {
+                            secondKiller = killer;
+                            return killer;
+                        }
+                    }
+                    break;
+                case GENERATE_QUIETS:
+                    scoreQuiets();
+                    next = 0;
+                    stage = QUIETS;
+                    break;
+                case QUIETS:
+                    while (next < quiets.size()) {
+                        int move = pickBest(quiets, quietScores, next++);
+                        if (move != hint && move != firstKiller && move != secondKiller) {
+                            return move;
+                        }
+                    }
+                    next = 0;
+                    stage = BAD_CAPTURES;
+                    break;
+                case BAD_CAPTURES:
+                    if (next < badCaptures.size()) {
+                        return badCaptures.get(next++);
+                    }
+                    stage = DONE;
+                    break;
+                default:
+                    return Move.NONE;
+            }
+        }
+    }
+
+    /**
+     * scoreCaptures generates the captures and scores them most valuable victim first, then least valuable
+     * attacker first. A queen promotion counts the queen it makes as part of the victim.
+     */
+    private void scoreCaptures() {
+        int count = MoveGenerator.generateCaptures(board, captures);
+        for (int i = 0; i < count; i++) {
+            int move = captures.get(i);
+            Piece victim = board.getPiece(Move.to(move));
+            int gain = victim != null ? Evaluation.PIECE_VALUES[victim.getType()]
+                    : Move.has(move, Move.EN_PASSANT) ? Evaluation.PIECE_VALUES[Board.PAWN] : 0;
+            if (Move.promotion(move) != 0) {
+                gain += Evaluation.PIECE_VALUES[Move.promotion(move)];
+            }
+            captureScores[i] = gain * 8 - board.getPiece(Move.from(move)).getType();
+        }
+    }
+
+    /**
+     * scoreQuiets generates the quiet moves and scores them by history
+     */
+    private void scoreQuiets() {
+        int count = MoveGenerator.generateQuiets(board, quiets);
+        boolean white = board.isWhiteToMove();
+        for (int i = 0; i < count; i++) {
+            quietScores[i] = history != null ? history.score(white, quiets.get(i)) : 0;
+        }
+    }
+
+    /**
+     * winsOrTrades checks that a capture does not lose material. A capture by a piece worth no more than its
+     * victim cannot lose, so the exchange is only worked out for the others.
+     *
+     * @param move encoded capture or promotion
+     * @return true if the static exchange is at least even
+     */
+    private boolean winsOrTrades(int move) {
+        Piece victim = board.getPiece(Move.to(move));
+        int attacker = board.getPiece(Move.from(move)).getType();
+        if (victim != null && attacker != Board.KING && Move.promotion(move) == 0
+                && Evaluation.PIECE_VALUES[attacker] <= Evaluation.PIECE_VALUES[victim.getType()]) {
+            return true;
+        }
+        return exchange.evaluate(board, move) >= 0;
+    }
+
+    /**
+     * pickBest moves the highest scored move from a position onwards into that position. Only the moves actually
+     * handed out get sorted, which is cheaper than a full sort when a cutoff comes early.
+     *
+     * @param moves moves to pick from
+     * @param scores score of each move
+     * @param from first position still to pick from
+     * @return the move now at position from
+     */
+    private static int pickBest(MoveList moves, int[] scores, int from) {
+        int best = from;
+        for (int i = from + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best]) best = i;
+        }
+        if (best != from) {
+            moves.swap(from, best);
+            int score = scores[from];
+            scores[from] = scores[best];
+            scores[best] = score;
+        }
+        return moves.get(from);
+    }
+}
@@ -0,0 +1,214 @@
+package search;
+
+import pieces.Board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * ParallelSearch runs one Search per thread over the same position with Lazy SMP: the threads share nothing
+ * but the transposition table, and each one finds the results the others stored there. The calling thread runs
+ * the main search, which alone obeys the limits; helper threads search without limits at staggered depths and
+ * are stopped when the main search ends. Since each thread searches its own copy of the board and the table
+ * needs no locks, the threads never wait for each other.
+ *
+ * With one thread nothing runs in the background and the result is the same as a plain Search, which is what
+ * tests and reproducible analysis should use.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class ParallelSearch {
+    /**
+     * table shared by every thread
+     */
+    private final TranspositionTable table;
+
+    /**
+     * one search per thread, the first one runs on the calling thread
+     */
+    private final Search[] searches;
+
+    /**
+     * runs the helper searches, or null with a single thread
+     */
+    private final ExecutorService helpers;
+
+    /**
+     * ParallelSearch constructor, with every selective part of the search on
+     *
+     * @param table transposition table shared by every thread
+     * @param threads number of threads to search with, 1 for a deterministic single-thread search
+     * @throws IllegalArgumentException if threads is below 1
+     */
+    public ParallelSearch(TranspositionTable table, int threads) {
+        this(table, threads, SearchParameters.defaults());
+    }
+
+    /**
+     * ParallelSearch constructor
+     *
+     * @param table transposition table shared by every thread
+     * @param threads number of threads to search with, 1 for a deterministic single-thread search
+     * @param parameters selective parts of the search every thread uses
+     * @throws IllegalArgumentException if threads is below 1
+     */
+    public ParallelSearch(TranspositionTable table, int threads, SearchParameters parameters) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A search needs at least one thread");
+        }
+        this.table = table;
+        searches = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new Search(table, parameters);
+        }
+        helpers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * prepare forgets an earlier stop request on every thread, readying the search for the next call to search.
+     * Call it on the thread that starts the search before the search begins: a stop sent after prepare is never
+     * lost, however soon it comes, while one left over from the last search would end the next one at once.
+     */
+    public void prepare() {
+        for (Search search : searches) {
+            search.prepare();
+        }
+    }
+
+    /**
+     * search finds the best move of a position within the given limits, using every thread. Every search ends
+     * by stopping all the threads, so every search after the first needs its own call to prepare.
+     *
+     * @param position position to search, not changed
+     * @param limits depth and time limits for the main search
+     * @return the result of the main search, or of a helper that finished a deeper iteration, with the nodes
+     * of all threads
+     * @throws IllegalStateException if prepare has not been called since the last search
+     */
+    public SearchResult search(Board position, SearchLimits limits) {
+        // prepare readies every thread together, so the main search speaks for all of them
+        searches[0].begin();
+        table.newSearch();
+        if (helpers == null) {
+            return searches[0].iterate(position, limits, 0);
+        }
+
+        List<Future<SearchResult>> futures = new ArrayList<>(searches.length - 1);
+        SearchLimits helperLimits = SearchLimits.infinite();
+        for (int i = 1; i < searches.length; i++) {
+            final int helper = i;
+            futures.add(helpers.submit(() -> searches[helper].iterate(position, helperLimits, helper)));
+        }
+        SearchResult best = searches[0].iterate(position, limits, 0);
+        stopAll();
+
+        long nodes = best.getNodes();
+        for (Future<SearchResult> future : futures) {
+            SearchResult result = join(future);
+            nodes += result.getNodes();
+            if (result.getDepth() > best.getDepth() && result.getBestMove() != 0) {
+                best = result;
+            }
+        }
+        return new SearchResult(best.getBestMove(), best.getScore(), best.getDepth(), nodes, best.getMillis(), best.getPv());
+    }
+
+    /**
+     * setListener sets what to tell about each iteration the main search finishes. The result holds the nodes of
+     * the main search only; getNodes counts every thread.
+     *
+     * @param listener called with the result of each iteration on the searching thread, or null for none
+     */
+    public void setListener(Consumer<SearchResult> listener) {
+        searches[0].setListener(listener);
+    }
+
+    /**
+     * stop asks every thread to stop as soon as possible. Safe to call from another thread.
+     */
+    public void stop() {
+        stopAll();
+    }
+
+    /**
+     * getNodes gets the number of nodes searched so far by every thread, for progress reports while a search
+     * runs
+     *
+     * @return number of nodes
+     */
+    public long getNodes() {
+        long nodes = 0;
+        for (Search search : searches) {
+            nodes += search.getNodes();
+        }
+        return nodes;
+    }
+
+    /**
+     * getTable gets the transposition table shared by every thread
+     *
+     * @return the table
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * getThreads gets the number of threads searching
+     *
+     * @return number of threads
+     */
+    public int getThreads() {
+        return searches.length;
+    }
+
+    /**
+     * shutdown ends the helper threads. The search cannot be used after this.
+     */
+    public void shutdown() {
+        if (helpers != null) {
+            stopAll();
+            helpers.shutdownNow();
+        }
+    }
+
+    /**
+     * stopAll sends a stop request to every search
+     */
+    private void stopAll() {
+        for (Search search : searches) {
+            search.stop();
+        }
+    }
+
+    /**
+     * join waits for a helper search to finish
+     *
+     * @param future the helper's pending result
+     * @return the helper's result
+     * @throws IllegalStateException if the helper failed
+     */
+    private static SearchResult join(Future<SearchResult> future) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a helper search", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Helper search failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,567 @@
+package search;
+
+import pieces.Board;
+import pieces.Move;
+
+import java.util.function.Consumer;
+
+/**
+ * Search finds the best move of a position with negamax alpha-beta search and iterative deepening. Each
+ * iteration searches one ply deeper than the last, starting with the best line found so far, so when time runs
+ * out the result of the last finished iteration is ready. Scores come back from the side to move's point of
+ * view; a forced mate is scored MATE minus the number of plies to it.
+ *
+ * A Search searches its own copy of the board, so the caller's board is never touched and the copy is only
+ * ever used by the thread running the search. The transposition table can be shared with other searches, see
+ * ParallelSearch.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class Search {
+    /**
+     * deepest ply the search can reach
+     */
+    public static final int MAX_PLY = 128;
+
+    /**
+     * score of a mate on the board. A mate n plies away is scored MATE - n.
+     */
+    public static final int MATE = 31000;
+
+    /**
+     * bound larger than any score
+     */
+    public static final int INFINITY = 32000;
+
+    /**
+     * nodes searched between looks at the clock
+     */
+    private static final int CHECK_INTERVAL = 2048;
+
+    /**
+     * length of the runs of depths helper threads search and skip, one entry per group of helpers
+     */
+    private static final int[] SKIP_SIZE = {1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4};
+
+    /**
+     * where in its runs each group of helpers starts
+     */
+    private static final int[] SKIP_PHASE = {0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7};
+
+    /**
+     * plies to reduce a late quiet move by, indexed by depth left and number of moves searched, both capped at 63.
+     * Reductions grow with the logarithm of both.
+     */
+    private static final int[][] REDUCTIONS = new int[64][64];
+
+    static {
+        for (int depth = 1; depth < 64; depth++) {
+            for (int moves = 1; moves < 64; moves++) {
+                REDUCTIONS[depth][moves] = (int) (0.75 + Math.log(depth) * Math.log(moves) / 2.25);
+            }
+        }
+    }
+
+    /**
+     * table of earlier results, may be shared with other searches
+     */
+    private final TranspositionTable table;
+
+    /**
+     * switches and margins of the selective parts of the search
+     */
+    private final SearchParameters parameters;
+
+    /**
+     * one move picker per ply, so the search allocates nothing while it runs
+     */
+    private final MovePicker[] pickers = new MovePicker[MAX_PLY + 1];
+
+    /**
+     * killer moves and history scores for ordering quiet moves
+     */
+    private final History history = new History();
+
+    /**
+     * best line found from each ply, pvTable[ply] holds the moves from ply to pvLength[ply]
+     */
+    private final int[][] pvTable = new int[MAX_PLY + 1][MAX_PLY + 1];
+
+    /**
+     * end of the best line found from each ply
+     */
+    private final int[] pvLength = new int[MAX_PLY + 1];
+
+    /**
+     * the search's own copy of the position
+     */
+    private Board board;
+
+    /**
+     * nodes searched so far
+     */
+    private long nodes;
+
+    /**
+     * time the search has to stop at, in System.nanoTime terms, or Long.MAX_VALUE for no limit
+     */
+    private long deadline;
+
+    /**
+     * set from any thread to ask the search to stop
+     */
+    private volatile boolean stopRequested;
+
+    /**
+     * true if prepare has been called since the last search started, or no search has run yet
+     */
+    private volatile boolean prepared = true;
+
+    /**
+     * set once the search has stopped in the middle of an iteration
+     */
+    private boolean aborted;
+
+    /**
+     * true while the main search runs its first iteration, which neither time nor a stop request can cut short
+     */
+    private boolean firstIteration;
+
+    /**
+     * told about every iteration the main search finishes, or null
+     */
+    private Consumer<SearchResult> listener;
+
+    /**
+     * Search constructor, with every selective part of the search on
+     *
+     * @param table transposition table to read and fill
+     */
+    public Search(TranspositionTable table) {
+        this(table, SearchParameters.defaults());
+    }
+
+    /**
+     * Search constructor
+     *
+     * @param table transposition table to read and fill
+     * @param parameters selective parts of the search to use, read as the search runs
+     */
+    public Search(TranspositionTable table, SearchParameters parameters) {
+        this.table = table;
+        this.parameters = parameters;
+        for (int i = 0; i < pickers.length; i++) {
+            pickers[i] = new MovePicker(history);
+        }
+    }
+
+    /**
+     * search finds the best move of a position within the given limits. The first iteration always finishes, so
+     * a legal move comes back whenever there is one. With no other search sharing the table the result only
+     * depends on the position, the limits and what the table held before, so repeated runs give the same answer.
+     * Every search after the first needs its own call to prepare.
+     *
+     * @param position position to search, not changed
+     * @param limits depth and time limits
+     * @return best move, score, depth reached and nodes searched
+     * @throws IllegalStateException if prepare has not been called since the last search
+     */
+    public SearchResult search(Board position, SearchLimits limits) {
+        begin();
+        table.newSearch();
+        return iterate(position, limits, 0);
+    }
+
+    /**
+     * iterate runs the iterative deepening loop. Helper threads of a parallel search skip some depths, so the
+     * threads sharing a table spread over several depths instead of all searching the same tree.
+     *
+     * @param position position to search, not changed
+     * @param limits depth and time limits
+     * @param helper 0 for the main search, otherwise the number of the helper thread
+     * @return best move, score, depth reached and nodes searched by this search alone
+     */
+    SearchResult iterate(Board position, SearchLimits limits, int helper) {
+        long start = System.nanoTime();
+        board = Board.buildCopy(position);
+        nodes = 0;
+        aborted = false;
+        history.newSearch();
+        deadline = limits.getMoveTime() > 0 ? start + limits.getMoveTime() * 1000000L : Long.MAX_VALUE;
+
+        SearchResult result = new SearchResult(Move.NONE, 0, 0, 0, 0, new int[0]);
+        for (int depth = 1; depth <= limits.getDepth(); depth++) {
+            if (helper > 0 && skipDepth(depth, helper)) {
+                continue;
+            }
+            // the main search always finishes its first iteration, so it has a move to return
+            firstIteration = depth == 1 && helper == 0;
+            int score = negamax(depth, -INFINITY, INFINITY, 0);
+            firstIteration = false;
+            if (aborted) {
+                break;
+            }
+            int[] pv = new int[pvLength[0]];
+            System.arraycopy(pvTable[0], 0, pv, 0, pv.length);
+            result = new SearchResult(pv.length > 0 ? pv[0] : Move.NONE, score, depth, nodes,
+                    (System.nanoTime() - start) / 1000000, pv);
+            if (listener != null && helper == 0) {
+                listener.accept(result);
+            }
+            // nothing left to find once a mate is in reach of the depth searched, or there is no move at all
+            if (pv.length == 0 || Math.abs(score) >= MATE - depth) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * skipDepth decides whether a helper thread leaves out a depth. Helpers are split into groups that skip
+     * every other run of 1, 2, 3 or 4 depths, each starting at a different phase.
+     *
+     * @param depth depth about to be searched
+     * @param helper number of the helper thread, at least 1
+     * @return true if the helper should go straight to the next depth
+     */
+    static boolean skipDepth(int depth, int helper) {
+        int i = (helper - 1) % SKIP_SIZE.length;
+        return ((depth + SKIP_PHASE[i]) / SKIP_SIZE[i]) % 2 != 0;
+    }
+
+    /**
+     * prepare forgets an earlier stop request, readying the search for the next call to search. Call it on the
+     * thread that starts the search before the search begins, so a stop sent right after the start is never
+     * lost.
+     */
+    public void prepare() {
+        stopRequested = false;
+        prepared = true;
+    }
+
+    /**
+     * begin makes sure prepare was called since the last search, so a stop left over from it cannot end this
+     * one at once, and uses the preparation up
+     *
+     * @throws IllegalStateException if prepare has not been called since the last search
+     */
+    void begin() {
+        if (!prepared) {
+            throw new IllegalStateException("Search must be prepared before each search after the first");
+        }
+        prepared = false;
+    }
+
+    /**
+     * setListener sets what to tell about each finished iteration, for progress reports such as UCI info lines.
+     * The listener runs on the searching thread.
+     *
+     * @param listener called with the result of each iteration, or null for none
+     */
+    public void setListener(Consumer<SearchResult> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * stop asks a running search to stop as soon as possible. Safe to call from another thread.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * getNodes gets the number of nodes searched so far, for progress reports while a search runs
+     *
+     * @return number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * negamax searches a position to a depth with alpha-beta pruning and returns its score for the side to move.
+     * Scores outside the alpha-beta window are only bounds. After the first move, moves are searched with a null
+     * window (principal variation search). Away from the principal variation the selective parts switched on in
+     * the parameters prune or reduce the moves that are unlikely to matter. Below the root a repetition, or a
+     * position where the fifty-move rule can be claimed and the side to move is not in check, scores as a draw.
+     *
+     * @param depth plies left to search
+     * @param alpha score the side to move is already sure of
+     * @param beta score the opponent is already sure of
+     * @param ply distance from the root
+     * @return score of the position
+     */
+    private int negamax(int depth, int alpha, int beta, int ply) {
+        boolean white = board.isWhiteToMove();
+        boolean inCheck = board.isInCheck(white);
+        if (inCheck && parameters.isCheckExtensions()) {
+            depth++;
+        }
+        if (depth <= 0) {
+            return quiescence(alpha, beta, ply);
+        }
+        pvLength[ply] = ply;
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) {
+            checkTime();
+        }
+        if (aborted) {
+            return 0;
+        }
+        // in check the fifty-move rule waits a ply, since a mate on the hundredth half-move still counts
+        if (ply > 0 && (board.isRepetition() || (board.getHalfmoveClock() >= 100 && !inCheck))) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluation.evaluate(board);
+        }
+
+        long key = board.getKey();
+        int hashMove = Move.NONE;
+        long entry = table.probe(key);
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        // the selective parts only apply off the principal variation, where a null window is searched
+        boolean pvNode = beta - alpha > 1;
+        boolean selective = !pvNode && !inCheck && Math.abs(beta) < MATE - MAX_PLY;
+        int staticScore = selective ? Evaluation.evaluate(board) : 0;
+
+        if (selective && parameters.isRazoring() && depth <= parameters.getRazorDepth()
+                && staticScore + parameters.getRazorMargin() * depth <= alpha) {
+            int razorAlpha = alpha - parameters.getRazorMargin() * depth;
+            int score = quiescence(razorAlpha, razorAlpha + 1, ply);
+            if (score <= razorAlpha) {
+                return score;
+            }
+        }
+
+        // a free move for the opponent that still fails high means the real moves will too; not tried twice in
+        // a row, nor without pieces, where zugzwang makes passing the best move
+        if (selective && parameters.isNullMove() && depth >= parameters.getNullMoveMinDepth()
+                && staticScore >= beta && board.getLastMove() != Move.NONE && hasPieces(white)) {
+            int reduction = 1 + parameters.getNullMoveReduction() + depth / 6;
+            board.makeNullMove();
+            int score = -negamax(depth - reduction, -beta, -beta + 1, ply + 1);
+            board.unmakeNullMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                return score >= MATE - MAX_PLY ? beta : score;
+            }
+        }
+
+        boolean futile = selective && parameters.isFutility() && depth <= parameters.getFutilityDepth()
+                && staticScore + parameters.getFutilityMargin() * depth <= alpha;
+
+        MovePicker picker = pickers[ply];
+        picker.init(board, hashMove, ply);
+        int alphaStart = alpha;
+        int best = -INFINITY;
+        int bestMove = Move.NONE;
+        int played = 0;
+        int move;
+        while ((move = picker.next()) != Move.NONE) {
+            boolean quiet = isQuiet(move);
+            board.makeMove(move);
+            boolean givesCheck = board.isInCheck(!white);
+            if (futile && played > 0 && quiet && !givesCheck) {
+                board.unmakeMove();
+                continue;
+            }
+            played++;
+            int score;
+            if (played == 1) {
+                score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            }
+            else {
+                // later moves only have to be shown worse than the first, which a null window does cheaply;
+                // one that turns out better is searched again with the full window, and at full depth if reduced
+                int reduction = 0;
+                if (parameters.isLateMoveReductions() && depth >= parameters.getReductionMinDepth()
+                        && played > parameters.getReductionMoveCount() && quiet && !inCheck && !givesCheck) {
+                    reduction = Math.max(0, Math.min(REDUCTIONS[Math.min(depth, 63)][Math.min(played, 63)], depth - 2));
+                }
+                score = -negamax(depth - 1 - reduction, -alpha - 1, -alpha, ply + 1);
+                if (score > alpha && reduction > 0) {
+                    score = -negamax(depth - 1, -alpha - 1, -alpha, ply + 1);
+                }
+                if (score > alpha && score < beta) {
+                    score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+                }
+            }
+            board.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        if (quiet) {
+                            history.addCutoff(white, move, ply, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        if (played == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+
+        int bound = best >= beta ? TranspositionTable.LOWER : best > alphaStart ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(key, bestMove, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /**
+     * hasPieces checks if a side has anything besides pawns and its king
+     *
+     * @param white true for white
+     * @return true if the side has a knight, bishop, rook or queen
+     */
+    private boolean hasPieces(boolean white) {
+        return (board.getBitboard(Board.KNIGHT, white) | board.getBitboard(Board.BISHOP, white)
+                | board.getBitboard(Board.ROOK, white) | board.getBitboard(Board.QUEEN, white)) != 0;
+    }
+
+    /**
+     * quiescence settles the captures left hanging at the end of the main search before the position is scored,
+     * so a line is never judged in the middle of an exchange. The side to move may stand pat on the static score
+     * or try its captures, most valuable victim first; captures that lose material by static exchange are not
+     * tried. In check there is no standing pat and every evasion is searched.
+     *
+     * @param alpha score the side to move is already sure of
+     * @param beta score the opponent is already sure of
+     * @param ply distance from the root
+     * @return score of the position
+     */
+    private int quiescence(int alpha, int beta, int ply) {
+        pvLength[ply] = ply;
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) {
+            checkTime();
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluation.evaluate(board);
+        }
+
+        MovePicker picker = pickers[ply];
+        boolean inCheck = board.isInCheck(board.isWhiteToMove());
+        int best;
+        if (inCheck) {
+            picker.init(board, Move.NONE, ply);
+            best = -INFINITY;
+        }
+        else {
+            best = Evaluation.evaluate(board);
+            if (best >= beta) {
+                return best;
+            }
+            alpha = Math.max(alpha, best);
+            picker.initCaptures(board);
+        }
+
+        int move;
+        while ((move = picker.next()) != Move.NONE) {
+            board.makeMove(move);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            board.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        // in check with no evasion to play
+        if (best == -INFINITY) {
+            return -MATE + ply;
+        }
+        return best;
+    }
+
+    /**
+     * isQuiet checks if a move leaves the material alone: no capture and no promotion
+     *
+     * @param move encoded move
+     * @return true for a quiet move
+     */
+    static boolean isQuiet(int move) {
+        return !Move.has(move, Move.CAPTURE) && Move.promotion(move) == 0;
+    }
+
+    /**
+     * updatePv makes a move followed by the best line of the next ply the best line of this ply
+     *
+     * @param ply distance from the root
+     * @param move move that raised alpha
+     */
+    private void updatePv(int ply, int move) {
+        pvTable[ply][ply] = move;
+        System.arraycopy(pvTable[ply + 1], ply + 1, pvTable[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+        pvLength[ply] = Math.max(pvLength[ply + 1], ply + 1);
+    }
+
+    /**
+     * checkTime stops the search when the time is up or a stop was asked for, unless it is still in the first
+     * iteration of the main search
+     */
+    private void checkTime() {
+        if (!firstIteration && (stopRequested || System.nanoTime() >= deadline)) {
+            aborted = true;
+        }
+    }
+
+    /**
+     * toTable turns a mate score measured from the root into one measured from this position before storing it,
+     * so it stays right when the position is reached at another ply
+     *
+     * @param score score measured from the root
+     * @param ply distance from the root
+     * @return score to store
+     */
+    static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score + ply;
+        if (score <= -MATE + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    /**
+     * fromTable turns a stored mate score back into one measured from the root
+     *
+     * @param score stored score
+     * @param ply distance from the root
+     * @return score measured from the root
+     */
+    static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score - ply;
+        if (score <= -MATE + MAX_PLY) return score + ply;
+        return score;
+    }
+}
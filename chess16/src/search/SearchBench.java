@@ -0,0 +1,138 @@
+package search;
+
+import perft.ReferencePosition;
+import pieces.Board;
+import pieces.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SearchBench measures what each selective part of the search is worth. It searches every reference position
+ * once per configuration, each time with an empty transposition table and a single thread, and prints the nodes,
+ * time and depth of each search and the totals of each configuration.
+ *
+ * Usage: java search.SearchBench [--depth N | --time MS] [--ablate]
+ *
+ * --depth searches every position to a fixed depth (7 by default), which shows how many nodes each technique
+ * saves. --time gives every position a fixed time instead, which shows how much deeper each technique gets.
+ * The configurations are plain alpha-beta, each technique on its own and everything on; --ablate adds
+ * everything on but one technique, for each technique.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class SearchBench {
+    /**
+     * depth used when neither depth nor time is given
+     */
+    private static final int DEFAULT_DEPTH = 7;
+
+    /**
+     * size of the transposition table of each search in MB
+     */
+    private static final int TABLE_MB = 16;
+
+    /**
+     * names of the techniques, as printed and as used by configure
+     */
+    private static final String[] TECHNIQUES = {"nullmove", "lmr", "futility", "razoring", "checkext"};
+
+    /**
+     * run searches every reference position with one configuration and prints a line per position and the totals
+     *
+     * @param name name printed for the configuration
+     * @param parameters selective parts to use
+     * @param limits depth or time for each search
+     * @return total nodes searched
+     */
+    public static long run(String name, SearchParameters parameters, SearchLimits limits) {
+        long totalNodes = 0;
+        long totalMillis = 0;
+        int totalDepth = 0;
+        Board board = new Board();
+        for (ReferencePosition position : ReferencePosition.SUITE) {
+            board.setUpBoard(position.getFen());
+            Search search = new Search(new TranspositionTable(TABLE_MB), parameters);
+            long start = System.nanoTime();
+            SearchResult result = search.search(board, limits);
+            long millis = (System.nanoTime() - start) / 1000000;
+            totalNodes += result.getNodes();
+            totalMillis += millis;
+            totalDepth += result.getDepth();
+            System.out.println(name + "  " + position.getName() + "  depth " + result.getDepth() + ": "
+                    + result.getNodes() + " nodes, " + millis + " ms, best " + Move.toString(result.getBestMove())
+                    + ", score " + result.getScore());
+        }
+        long nps = totalMillis > 0 ? totalNodes * 1000 / totalMillis : 0;
+        System.out.println(name + "  total: " + totalNodes + " nodes, " + totalMillis + " ms, " + nps + " nps, average depth "
+                + String.format("%.1f", (double) totalDepth / ReferencePosition.SUITE.length));
+        System.out.println();
+        return totalNodes;
+    }
+
+    /**
+     * configure makes parameters with the named techniques on and the rest off
+     *
+     * @param techniques names from TECHNIQUES
+     * @return new SearchParameters object
+     */
+    static SearchParameters configure(List<String> techniques) {
+        SearchParameters parameters = SearchParameters.plain();
+        parameters.setNullMove(techniques.contains("nullmove"));
+        parameters.setLateMoveReductions(techniques.contains("lmr"));
+        parameters.setFutility(techniques.contains("futility"));
+        parameters.setRazoring(techniques.contains("razoring"));
+        parameters.setCheckExtensions(techniques.contains("checkext"));
+        return parameters;
+    }
+
+    /**
+     * main reads the command line and runs every configuration
+     *
+     * @param args command line arguments, see the class description
+     */
+    public static void main(String[] args) {
+        SearchLimits limits = SearchLimits.depth(DEFAULT_DEPTH);
+        boolean ablate = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--depth": limits = SearchLimits.depth(Integer.parseInt(args[++i])); break;
+                case "--time": limits = SearchLimits.time(Long.parseLong(args[++i])); break;
+                case "--ablate": ablate = true; break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        List<SearchParameters> configurations = new ArrayList<>();
+        names.add("plain");
+        configurations.add(SearchParameters.plain());
+        for (String technique : TECHNIQUES) {
+            List<String> only = new ArrayList<>();
+            only.add(technique);
+            names.add(technique);
+            configurations.add(configure(only));
+        }
+        if (ablate) {
+            for (String technique : TECHNIQUES) {
+                List<String> allBut = new ArrayList<>(java.util.Arrays.asList(TECHNIQUES));
+                allBut.remove(technique);
+                names.add("all-" + technique);
+                configurations.add(configure(allBut));
+            }
+        }
+        names.add("all");
+        configurations.add(SearchParameters.defaults());
+
+        long[] nodes = new long[configurations.size()];
+        for (int i = 0; i < configurations.size(); i++) {
+            nodes[i] = run(names.get(i), configurations.get(i), limits);
+        }
+        System.out.println("Nodes against plain:");
+        for (int i = 0; i < configurations.size(); i++) {
+            System.out.println(String.format("  %-16s %12d  %6.1f%%", names.get(i), nodes[i], 100.0 * nodes[i] / Math.max(1, nodes[0])));
+        }
+    }
+}
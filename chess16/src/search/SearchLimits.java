@@ -0,0 +1,78 @@
+package search;
+
+/**
+ * SearchLimits says when a search has to stop: at a depth, after a time, or only when told to.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class SearchLimits {
+    /**
+     * deepest depth iterative deepening goes to
+     */
+    private final int depth;
+
+    /**
+     * time the search may take in milliseconds, 0 for no limit
+     */
+    private final long moveTime;
+
+    /**
+     * SearchLimits constructor
+     *
+     * @param depth deepest depth to search, capped at Search.MAX_PLY
+     * @param moveTime time the search may take in milliseconds, 0 for no limit
+     */
+    public SearchLimits(int depth, long moveTime) {
+        this.depth = Math.max(1, Math.min(depth, Search.MAX_PLY));
+        this.moveTime = Math.max(0, moveTime);
+    }
+
+    /**
+     * depth makes limits that search to a fixed depth
+     *
+     * @param depth deepest depth to search
+     * @return the limits
+     */
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0);
+    }
+
+    /**
+     * time makes limits that search for a fixed time
+     *
+     * @param millis time the search may take in milliseconds
+     * @return the limits
+     */
+    public static SearchLimits time(long millis) {
+        return new SearchLimits(Search.MAX_PLY, millis);
+    }
+
+    /**
+     * infinite makes limits that search until the search is stopped
+     *
+     * @return the limits
+     */
+    public static SearchLimits infinite() {
+        return new SearchLimits(Search.MAX_PLY, 0);
+    }
+
+    /**
+     * getDepth gets the deepest depth to search
+     *
+     * @return depth in plies
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * getMoveTime gets the time the search may take
+     *
+     * @return milliseconds, 0 for no limit
+     */
+    public long getMoveTime() {
+        return moveTime;
+    }
+}
@@ -0,0 +1,388 @@
+package search;
+
+/**
+ * SearchParameters switches the selective parts of the search on and off and holds their margins, so each one
+ * can be measured on its own. The selective parts are:
+ *
+ * null move pruning: give the opponent a free move searched to a reduced depth; if the side to move still fails
+ * high, cut the node off.
+ * late move reductions: search quiet moves that come late in the ordering to a reduced depth, and only search
+ * them fully if they beat alpha.
+ * futility pruning: near the leaves, skip quiet moves when the static score is so far below alpha that a quiet
+ * move cannot make up the gap.
+ * razoring: near the leaves, drop straight into quiescence search when the static score is far below alpha.
+ * check extensions: search one ply deeper when the side to move is in check.
+ *
+ * defaults() turns everything on and plain() turns everything off, which gives a full-width alpha-beta search.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class SearchParameters {
+    /**
+     * true to use null move pruning
+     */
+    private boolean nullMove = true;
+
+    /**
+     * least depth left at which a null move is tried
+     */
+    private int nullMoveMinDepth = 3;
+
+    /**
+     * plies the null move search is reduced by, on top of the ply of the null move itself
+     */
+    private int nullMoveReduction = 2;
+
+    /**
+     * true to use late move reductions
+     */
+    private boolean lateMoveReductions = true;
+
+    /**
+     * least depth left at which moves are reduced
+     */
+    private int reductionMinDepth = 3;
+
+    /**
+     * number of moves searched at full depth before reductions start
+     */
+    private int reductionMoveCount = 3;
+
+    /**
+     * true to use futility pruning
+     */
+    private boolean futility = true;
+
+    /**
+     * deepest depth left at which futility pruning applies
+     */
+    private int futilityDepth = 3;
+
+    /**
+     * centipawns a quiet move is assumed to gain at most, per ply of depth left
+     */
+    private int futilityMargin = 120;
+
+    /**
+     * true to use razoring
+     */
+    private boolean razoring = true;
+
+    /**
+     * deepest depth left at which razoring applies
+     */
+    private int razorDepth = 2;
+
+    /**
+     * centipawns below alpha the static score has to be, per ply of depth left, before razoring
+     */
+    private int razorMargin = 300;
+
+    /**
+     * true to extend the search when in check
+     */
+    private boolean checkExtensions = true;
+
+    /**
+     * SearchParameters constructor, with every selective part on
+     */
+    public SearchParameters() {
+    }
+
+    /**
+     * SearchParameters copy constructor
+     *
+     * @param other parameters to copy
+     */
+    public SearchParameters(SearchParameters other) {
+        nullMove = other.nullMove;
+        nullMoveMinDepth = other.nullMoveMinDepth;
+        nullMoveReduction = other.nullMoveReduction;
+        lateMoveReductions = other.lateMoveReductions;
+        reductionMinDepth = other.reductionMinDepth;
+        reductionMoveCount = other.reductionMoveCount;
+        futility = other.futility;
+        futilityDepth = other.futilityDepth;
+        futilityMargin = other.futilityMargin;
+        razoring = other.razoring;
+        razorDepth = other.razorDepth;
+        razorMargin = other.razorMargin;
+        checkExtensions = other.checkExtensions;
+    }
+
+    /**
+     * defaults makes parameters with every selective part on
+     *
+     * @return new SearchParameters object
+     */
+    public static SearchParameters defaults() {
+        return new SearchParameters();
+    }
+
+    /**
+     * plain makes parameters with every selective part off, for a full-width alpha-beta search
+     *
+     * @return new SearchParameters object
+     */
+    public static SearchParameters plain() {
+        SearchParameters parameters = new SearchParameters();
+        parameters.setNullMove(false);
+        parameters.setLateMoveReductions(false);
+        parameters.setFutility(false);
+        parameters.setRazoring(false);
+        parameters.setCheckExtensions(false);
+        return parameters;
+    }
+
+    /**
+     * isNullMove checks if null move pruning is on
+     *
+     * @return true if on
+     */
+    public boolean isNullMove() {
+        return nullMove;
+    }
+
+    /**
+     * setNullMove turns null move pruning on or off
+     *
+     * @param nullMove true for on
+     */
+    public void setNullMove(boolean nullMove) {
+        this.nullMove = nullMove;
+    }
+
+    /**
+     * getNullMoveMinDepth gets the least depth left at which a null move is tried
+     *
+     * @return depth in plies
+     */
+    public int getNullMoveMinDepth() {
+        return nullMoveMinDepth;
+    }
+
+    /**
+     * setNullMoveMinDepth sets the least depth left at which a null move is tried
+     *
+     * @param nullMoveMinDepth depth in plies
+     */
+    public void setNullMoveMinDepth(int nullMoveMinDepth) {
+        this.nullMoveMinDepth = nullMoveMinDepth;
+    }
+
+    /**
+     * getNullMoveReduction gets the plies the null move search is reduced by
+     *
+     * @return reduction in plies
+     */
+    public int getNullMoveReduction() {
+        return nullMoveReduction;
+    }
+
+    /**
+     * setNullMoveReduction sets the plies the null move search is reduced by
+     *
+     * @param nullMoveReduction reduction in plies
+     */
+    public void setNullMoveReduction(int nullMoveReduction) {
+        this.nullMoveReduction = nullMoveReduction;
+    }
+
+    /**
+     * isLateMoveReductions checks if late move reductions are on
+     *
+     * @return true if on
+     */
+    public boolean isLateMoveReductions() {
+        return lateMoveReductions;
+    }
+
+    /**
+     * setLateMoveReductions turns late move reductions on or off
+     *
+     * @param lateMoveReductions true for on
+     */
+    public void setLateMoveReductions(boolean lateMoveReductions) {
+        this.lateMoveReductions = lateMoveReductions;
+    }
+
+    /**
+     * getReductionMinDepth gets the least depth left at which moves are reduced
+     *
+     * @return depth in plies
+     */
+    public int getReductionMinDepth() {
+        return reductionMinDepth;
+    }
+
+    /**
+     * setReductionMinDepth sets the least depth left at which moves are reduced
+     *
+     * @param reductionMinDepth depth in plies
+     */
+    public void setReductionMinDepth(int reductionMinDepth) {
+        this.reductionMinDepth = reductionMinDepth;
+    }
+
+    /**
+     * getReductionMoveCount gets the number of moves searched at full depth before reductions start
+     *
+     * @return number of moves
+     */
+    public int getReductionMoveCount() {
+        return reductionMoveCount;
+    }
+
+    /**
+     * setReductionMoveCount sets the number of moves searched at full depth before reductions start
+     *
+     * @param reductionMoveCount number of moves
+     */
+    public void setReductionMoveCount(int reductionMoveCount) {
+        this.reductionMoveCount = reductionMoveCount;
+    }
+
+    /**
+     * isFutility checks if futility pruning is on
+     *
+     * @return true if on
+     */
+    public boolean isFutility() {
+        return futility;
+    }
+
+    /**
+     * setFutility turns futility pruning on or off
+     *
+     * @param futility true for on
+     */
+    public void setFutility(boolean futility) {
+        this.futility = futility;
+    }
+
+    /**
+     * getFutilityDepth gets the deepest depth left at which futility pruning applies
+     *
+     * @return depth in plies
+     */
+    public int getFutilityDepth() {
+        return futilityDepth;
+    }
+
+    /**
+     * setFutilityDepth sets the deepest depth left at which futility pruning applies
+     *
+     * @param futilityDepth depth in plies
+     */
+    public void setFutilityDepth(int futilityDepth) {
+        this.futilityDepth = futilityDepth;
+    }
+
+    /**
+     * getFutilityMargin gets the most a quiet move is assumed to gain per ply of depth left
+     *
+     * @return margin in centipawns
+     */
+    public int getFutilityMargin() {
+        return futilityMargin;
+    }
+
+    /**
+     * setFutilityMargin sets the most a quiet move is assumed to gain per ply of depth left
+     *
+     * @param futilityMargin margin in centipawns
+     */
+    public void setFutilityMargin(int futilityMargin) {
+        this.futilityMargin = futilityMargin;
+    }
+
+    /**
+     * isRazoring checks if razoring is on
+     *
+     * @return true if on
+     */
+    public boolean isRazoring() {
+        return razoring;
+    }
+
+    /**
+     * setRazoring turns razoring on or off
+     *
+     * @param razoring true for on
+     */
+    public void setRazoring(boolean razoring) {
+        this.razoring = razoring;
+    }
+
+    /**
+     * getRazorDepth gets the deepest depth left at which razoring applies
+     *
+     * @return depth in plies
+     */
+    public int getRazorDepth() {
+        return razorDepth;
+    }
+
+    /**
+     * setRazorDepth sets the deepest depth left at which razoring applies
+     *
+     * @param razorDepth depth in plies
+     */
+    public void setRazorDepth(int razorDepth) {
+        this.razorDepth = razorDepth;
+    }
+
+    /**
+     * getRazorMargin gets how far below alpha the static score has to be per ply of depth left before razoring
+     *
+     * @return margin in centipawns
+     */
+    public int getRazorMargin() {
+        return razorMargin;
+    }
+
+    /**
+     * setRazorMargin sets how far below alpha the static score has to be per ply of depth left before razoring
+     *
+     * @param razorMargin margin in centipawns
+     */
+    public void setRazorMargin(int razorMargin) {
+        this.razorMargin = razorMargin;
+    }
+
+    /**
+     * isCheckExtensions checks if check extensions are on
+     *
+     * @return true if on
+     */
+    public boolean isCheckExtensions() {
+        return checkExtensions;
+    }
+
+    /**
+     * setCheckExtensions turns check extensions on or off
+     *
+     * @param checkExtensions true for on
+     */
+    public void setCheckExtensions(boolean checkExtensions) {
+        this.checkExtensions = checkExtensions;
+    }
+
+    /**
+     * toString lists which selective parts are on
+     *
+     * @return text such as "nullmove lmr futility razoring checkext", or "plain" when all are off
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        if (nullMove) text.append(" nullmove");
+        if (lateMoveReductions) text.append(" lmr");
+        if (futility) text.append(" futility");
+        if (razoring) text.append(" razoring");
+        if (checkExtensions) text.append(" checkext");
+        return text.length() == 0 ? "plain" : text.substring(1);
+    }
+}
@@ -0,0 +1,150 @@
+package search;
+
+import pieces.Move;
+
+/**
+ * SearchResult is what a search found: the best move, its score, how deep the search got and how
+ * many nodes it visited, with the principal variation (the line both sides are expected to play).
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class SearchResult {
+    /**
+     * best move found, Move.NONE if there is no legal move
+     */
+    private final int bestMove;
+
+    /**
+     * score of the best move in centipawns for the side to move, or a mate score
+     */
+    private final int score;
+
+    /**
+     * last depth that was searched completely
+     */
+    private final int depth;
+
+    /**
+     * number of nodes searched
+     */
+    private final long nodes;
+
+    /**
+     * time taken in milliseconds
+     */
+    private final long millis;
+
+    /**
+     * principal variation, starting with the best move
+     */
+    private final int[] pv;
+
+    /**
+     * SearchResult constructor
+     *
+     * @param bestMove best move found
+     * @param score score of the best move
+     * @param depth last depth searched completely
+     * @param nodes number of nodes searched
+     * @param millis time taken in milliseconds
+     * @param pv principal variation, starting with the best move
+     */
+    public SearchResult(int bestMove, int score, int depth, long nodes, long millis, int[] pv) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.millis = millis;
+        this.pv = pv;
+    }
+
+    /**
+     * getBestMove gets the best move found
+     *
+     * @return encoded move, Move.NONE if there is no legal move
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * getScore gets the score of the best move for the side to move
+     *
+     * @return centipawns, or a mate score (see isMate)
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * getDepth gets the last depth searched completely
+     *
+     * @return depth in plies
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * getNodes gets the number of nodes searched
+     *
+     * @return number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * getMillis gets the time the search took
+     *
+     * @return milliseconds
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * getPv gets the principal variation
+     *
+     * @return encoded moves, starting with the best move
+     */
+    public int[] getPv() {
+        return pv.clone();
+    }
+
+    /**
+     * isMate checks if the score is a forced mate for either side
+     *
+     * @return true for a mate score
+     */
+    public boolean isMate() {
+        return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+    }
+
+    /**
+     * mateIn gets the number of moves to a forced mate
+     *
+     * @return moves to mate, positive if the side to move mates, negative if it gets mated, 0 if not a mate score
+     */
+    public int mateIn() {
+        if (!isMate()) return 0;
+        return score > 0 ? (Search.MATE - score + 1) / 2 : -(Search.MATE + score) / 2;
+    }
+
+    /**
+     * toString writes the result on one line, such as "depth 6 score cp 35 nodes 12345 time 120 pv e2 e4 e7 e5"
+     *
+     * @return text of the result
+     */
+    public String toString() {
+        StringBuilder text = new StringBuilder("depth ").append(depth).append(" score ");
+        text.append(isMate() ? "mate " + mateIn() : "cp " + score);
+        text.append(" nodes ").append(nodes).append(" time ").append(millis).append(" pv");
+        for (int move : pv) {
+            text.append(' ').append(Move.toString(move));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,99 @@
+package search;
+
+import pieces.Bitboards;
+import pieces.Board;
+import pieces.Move;
+import pieces.Piece;
+
+/**
+ * StaticExchange works out what a capture wins or loses once every piece that can join in has recaptured on the
+ * target square, each side always taking with its least valuable attacker and stopping when going on would lose.
+ * Attackers are found with Board.attackersOf, leaving the pieces already used out of the occupancy so the sliders
+ * lined up behind them join in too. Pins and checks are ignored, which keeps it cheap enough to call on every
+ * capture.
+ *
+ * Each instance keeps its own scratch space, so one is needed per searching thread.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class StaticExchange {
+    /**
+     * value given to the king, so capturing with it is only worth it when nothing can take it back
+     */
+    private static final int KING_VALUE = 20000;
+
+    /**
+     * material balance after each capture of the sequence, seen by the side making it
+     */
+    private final int[] gains = new int[32];
+
+    /**
+     * evaluate works out the material a capture wins, counting the whole exchange on its target square
+     *
+     * @param board Board object with the capture still to be made
+     * @param move encoded move, usually a capture or promotion
+     * @return centipawns won by the side making the move, negative if the exchange loses material
+     */
+    public int evaluate(Board board, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        Piece mover = board.getPiece(from);
+        boolean side = mover.getColor();
+        long occupied = board.getOccupied() & ~Bitboards.bit(from);
+
+        int captured;
+        if (Move.has(move, Move.EN_PASSANT)) {
+            captured = value(Board.PAWN);
+            occupied &= ~Bitboards.bit(side ? to + 8 : to - 8);
+        }
+        else {
+            Piece target = board.getPiece(to);
+            captured = target != null ? value(target.getType()) : 0;
+        }
+        int onSquare = value(mover.getType());
+        int promotion = Move.promotion(move);
+        if (promotion != 0) {
+            captured += value(promotion) - value(Board.PAWN);
+            onSquare = value(promotion);
+        }
+
+        int depth = 0;
+        gains[0] = captured;
+        long attackers = board.attackersOf(to, occupied) & occupied;
+        while (depth < gains.length - 1) {
+            side = !side;
+            long ours = attackers & board.getOccupancy(side);
+            if (ours == 0) {
+                break;
+            }
+            int type = Board.PAWN;
+            long pieces = ours & board.getBitboard(type, side);
+            while (pieces == 0) {
+                pieces = ours & board.getBitboard(++type, side);
+            }
+            depth++;
+            gains[depth] = onSquare - gains[depth - 1];
+            onSquare = value(type);
+            occupied &= ~Long.lowestOneBit(pieces);
+            attackers = board.attackersOf(to, occupied) & occupied;
+        }
+        // each side may stop recapturing when that leaves it better off
+        while (depth > 0) {
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+            depth--;
+        }
+        return gains[0];
+    }
+
+    /**
+     * value gets the value of a piece type for exchanges
+     *
+     * @param type piece type, Board.PAWN to Board.KING
+     * @return value in centipawns
+     */
+    private static int value(int type) {
+        return type == Board.KING ? KING_VALUE : Evaluation.PIECE_VALUES[type];
+    }
+}
@@ -0,0 +1,281 @@
+package search;
+
+/**
+ * TranspositionTable remembers search results by position key, so a position reached again, by another move
+ * order or in a later search, can reuse the earlier work. It is a fixed-size table held in one long[], with no
+ * objects per entry.
+ *
+ * Each entry is two longs: the packed data (best move, score, depth, bound and search generation) and the
+ * position key XORed with that data. A reader only trusts an entry when the two XOR back to its key, so many
+ * threads can read and write the table at once without locks: a half-written or overwritten entry just looks
+ * like a miss.
+ *
+ * Entries sit in buckets of two. The first slot keeps the deepest result and the second always takes the
+ * newest one, so deep results survive while shallow ones still get stored.
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+public class TranspositionTable {
+    /**
+     * bound type: the score is exact
+     */
+    public static final int EXACT = 1;
+
+    /**
+     * bound type: the search failed high, the real score is at least the stored score
+     */
+    public static final int LOWER = 2;
+
+    /**
+     * bound type: the search failed low, the real score is at most the stored score
+     */
+    public static final int UPPER = 3;
+
+    /**
+     * bytes taken by one entry: two longs
+     */
+    private static final int ENTRY_BYTES = 16;
+
+    /**
+     * longs per bucket: two entries of two longs
+     */
+    private static final int BUCKET_LONGS = 4;
+
+    /**
+     * most buckets one long[] can hold, a power of two so a key can pick a bucket with a mask
+     */
+    private static final long MAX_BUCKETS = Long.highestOneBit(Integer.MAX_VALUE / BUCKET_LONGS);
+
+    /**
+     * largest table size in MB; larger sizes get a table of this size
+     */
+    public static final int MAX_MEGABYTES = (int) (MAX_BUCKETS * BUCKET_LONGS * 8 / (1024 * 1024));
+
+    /**
+     * bits of the packed data holding the move
+     */
+    private static final int MOVE_BITS = 19;
+
+    /**
+     * position of the score in the packed data
+     */
+    private static final int SCORE_SHIFT = MOVE_BITS;
+
+    /**
+     * position of the depth in the packed data
+     */
+    private static final int DEPTH_SHIFT = SCORE_SHIFT + 16;
+
+    /**
+     * position of the bound type in the packed data
+     */
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + 8;
+
+    /**
+     * position of the search generation in the packed data
+     */
+    private static final int GENERATION_SHIFT = BOUND_SHIFT + 2;
+
+    /**
+     * the buckets: for each slot the key XORed with the data, then the data
+     */
+    private final long[] table;
+
+    /**
+     * number of buckets minus one, used to pick a bucket from a key
+     */
+    private final int bucketMask;
+
+    /**
+     * generation of the current search, stored with each entry so results from old searches are replaced first
+     */
+    private volatile int generation;
+
+    /**
+     * TranspositionTable constructor
+     *
+     * @param megabytes size of the table in MB, rounded down to a power of two number of buckets and cut down
+     *                  to MAX_MEGABYTES
+     * @throws IllegalArgumentException if the size is below 1 MB
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Transposition table size must be at least 1 MB");
+        }
+        int buckets = bucketsFor(megabytes);
+        table = new long[buckets * BUCKET_LONGS];
+        bucketMask = buckets - 1;
+    }
+
+    /**
+     * bucketsFor works out how many buckets a table of a given size gets
+     *
+     * @param megabytes size of the table in MB, at least 1
+     * @return number of buckets, a power of two no larger than MAX_BUCKETS
+     */
+    static int bucketsFor(int megabytes) {
+        long buckets = Long.highestOneBit((long) megabytes * 1024 * 1024 / (2 * ENTRY_BYTES));
+        return (int) Math.min(buckets, MAX_BUCKETS);
+    }
+
+    /**
+     * getMegabytes gets the size of the table
+     *
+     * @return size in MB
+     */
+    public int getMegabytes() {
+        return (int) ((long) table.length * 8 / (1024 * 1024));
+    }
+
+    /**
+     * clear empties the table
+     */
+    public void clear() {
+        java.util.Arrays.fill(table, 0L);
+        generation = 0;
+    }
+
+    /**
+     * newSearch starts a new search generation. Entries from earlier generations are kept but are the first to
+     * be replaced.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 255;
+    }
+
+    /**
+     * probe looks up a position
+     *
+     * @param key Zobrist key of the position
+     * @return packed entry data to read with move, score, depth and bound, or 0 if the position is not stored
+     */
+    public long probe(long key) {
+        int base = (((int) key) & bucketMask) * BUCKET_LONGS;
+        for (int slot = base; slot < base + BUCKET_LONGS; slot += 2) {
+            long data = table[slot + 1];
+            if ((table[slot] ^ data) == key && data != 0) {
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * store saves a search result. A result for the same position replaces the old one. Otherwise the first slot
+     * is only replaced by a result searched at least as deep, or one from a newer search, and the second slot
+     * takes whatever the first slot turned down.
+     *
+     * @param key Zobrist key of the position
+     * @param move best move found, or Move.NONE
+     * @param score score of the position, between -32768 and 32767
+     * @param depth depth searched, between 0 and 255
+     * @param bound EXACT, LOWER or UPPER
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int base = (((int) key) & bucketMask) * BUCKET_LONGS;
+        long data = pack(move, score, depth, bound, generation);
+        long first = table[base + 1];
+        boolean firstMatches = (table[base] ^ first) == key;
+        int slot;
+        if (firstMatches || first == 0 || depth >= depth(first) || generation(first) != generation) {
+            slot = base;
+        }
+        else {
+            slot = base + 2;
+        }
+        // keep the best move of an earlier visit when this result found none
+        long old = table[slot + 1];
+        if (move == 0 && (table[slot] ^ old) == key) {
+            data = pack(move(old), score, depth, bound, generation);
+        }
+        table[slot] = key ^ data;
+        table[slot + 1] = data;
+    }
+
+    /**
+     * hashfull estimates how much of the table the current search has filled
+     *
+     * @return permille of the first 1000 slots holding entries of the current generation
+     */
+    public int hashfull() {
+        int used = 0;
+        int slots = Math.min(1000, table.length / 2);
+        for (int i = 0; i < slots; i++) {
+            long data = table[i * 2 + 1];
+            if (data != 0 && generation(data) == generation) {
+                used++;
+            }
+        }
+        return used * 1000 / slots;
+    }
+
+    /**
+     * pack puts the fields of an entry into one long
+     *
+     * @param move best move
+     * @param score score
+     * @param depth depth searched
+     * @param bound bound type
+     * @param generation search generation
+     * @return packed data
+     */
+    private static long pack(int move, int score, int depth, int bound, int generation) {
+        return (move & ((1L << MOVE_BITS) - 1))
+                | ((long) (score & 0xFFFF) << SCORE_SHIFT)
+                | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                | ((long) (bound & 3) << BOUND_SHIFT)
+                | ((long) (generation & 0xFF) << GENERATION_SHIFT);
+    }
+
+    /**
+     * move reads the best move of a probed entry
+     *
+     * @param data packed entry data
+     * @return encoded move, or Move.NONE
+     */
+    public static int move(long data) {
+        return (int) (data & ((1L << MOVE_BITS) - 1));
+    }
+
+    /**
+     * score reads the score of a probed entry
+     *
+     * @param data packed entry data
+     * @return score
+     */
+    public static int score(long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    /**
+     * depth reads the depth of a probed entry
+     *
+     * @param data packed entry data
+     * @return depth searched
+     */
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * bound reads the bound type of a probed entry
+     *
+     * @param data packed entry data
+     * @return EXACT, LOWER or UPPER
+     */
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 3;
+    }
+
+    /**
+     * generation reads the search generation of an entry
+     *
+     * @param data packed entry data
+     * @return generation
+     */
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+    }
+}
@@ -0,0 +1,64 @@
+package perft;
+
+import org.junit.jupiter.api.Test;
+import pieces.Board;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * PerftTest checks the move generators against the known leaf counts of the reference positions
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+class PerftTest {
+    /**
+     * deepest depth counted, shallow enough to keep the test quick
+     */
+    private static final int DEPTH = 3;
+
+    /**
+     * generatorMatchesReferenceCounts counts every reference position through MoveGenerator
+     */
+    @Test
+    void generatorMatchesReferenceCounts() {
+        checkSuite(new GeneratorSource());
+    }
+
+    /**
+     * validMoveMatchesReferenceCounts counts every reference position through Piece.validMove
+     */
+    @Test
+    void validMoveMatchesReferenceCounts() {
+        checkSuite(new ValidMoveSource());
+    }
+
+    /**
+     * depthMustBeAPositiveNumber checks that main rejects options it does not know and depths below 1
+     */
+    @Test
+    void depthMustBeAPositiveNumber() {
+        assertEquals(5, Perft.readDepth("5"));
+        assertThrows(IllegalArgumentException.class, () -> Perft.readDepth("--help"));
+        assertThrows(IllegalArgumentException.class, () -> Perft.readDepth("0"));
+        assertThrows(IllegalArgumentException.class, () -> Perft.main(new String[] {"--fen"}));
+    }
+
+    /**
+     * checkSuite counts every reference position to DEPTH and compares each count with the known one
+     *
+     * @param source where the legal moves come from
+     */
+    private static void checkSuite(MoveSource source) {
+        Board board = new Board();
+        for (ReferencePosition position : ReferencePosition.SUITE) {
+            board.setUpBoard(position.getFen());
+            for (int depth = 1; depth <= DEPTH; depth++) {
+                assertEquals(position.getCount(depth), Perft.perft(board, source, depth),
+                        position.getName() + " at depth " + depth);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package pgn;
+
+import org.junit.jupiter.api.Test;
+import pieces.Board;
+import pieces.Fen;
+import pieces.Move;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * SanTest checks that San resolves moves written in Standard Algebraic Notation to the right move, and rejects
+ * the ones that do not name exactly one legal move
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+class SanTest {
+    /**
+     * position with a pawn that can promote straight ahead or by taking a rook
+     */
+    private static final String PROMOTION = "3r3k/4P3/8/8/8/8/8/K7 w - - 0 1";
+
+    /**
+     * position with two knights that can both reach d5
+     */
+    private static final String KNIGHTS = "k7/8/1N3N2/8/8/8/8/K7 w - - 0 1";
+
+    /**
+     * pawnMoves resolves pushes, captures and en passant
+     */
+    @Test
+    void pawnMoves() {
+        assertResolves(Fen.START, "e4", "e2e4");
+        assertResolves("k7/8/8/3pP3/8/8/8/K7 w - d6 0 2", "exd6", "e5d6");
+        assertResolves(Fen.START, "bxc3", null);
+    }
+
+    /**
+     * pawnCapturesNeedTheFileAndX resolves a pawn capture only when it names the file it comes from and the x
+     */
+    @Test
+    void pawnCapturesNeedTheFileAndX() {
+        String fen = "k7/8/8/3p4/4P3/8/8/K7 w - - 0 1";
+        assertResolves(fen, "exd5", "e4d5");
+        assertResolves(fen, "d5", null);
+        assertResolves(fen, "xd5", null);
+        assertResolves(fen, "ed5", null);
+        assertResolves("k7/8/8/3pP3/8/8/8/K7 w - d6 0 2", "d6", null);
+    }
+
+    /**
+     * promotions resolves promotions with or without the equals sign and in either case, and rejects one with no
+     * piece named
+     */
+    @Test
+    void promotions() {
+        assertResolves(PROMOTION, "exd8=Q+", "e7d8q");
+        assertResolves(PROMOTION, "exd8N", "e7d8n");
+        assertResolves(PROMOTION, "exd8=q", "e7d8q");
+        assertResolves(PROMOTION, "e8n", "e7e8n");
+        assertResolves(PROMOTION, "exd8", null);
+    }
+
+    /**
+     * disambiguation needs a file or rank when two pieces can reach the same square
+     */
+    @Test
+    void disambiguation() {
+        assertResolves(KNIGHTS, "Nd5", null);
+        assertResolves(KNIGHTS, "Nbd5", "b6d5");
+        assertResolves("k7/8/1N6/8/1N6/8/8/K7 w - - 0 1", "N4d5", "b4d5");
+        assertResolves("k7/8/1N6/8/1N6/8/8/K7 w - - 0 1", "Nb4xd5!?", "b4d5");
+        assertResolves("k7/8/8/8/8/8/8/K6R w - - 0 1", "Rh8+", "h1h8");
+        assertResolves(Fen.START, "Bc4", null);
+    }
+
+    /**
+     * castling resolves only O-O and O-O-O, in letters or digits, and never a king move written as one
+     */
+    @Test
+    void castling() {
+        assertResolves("r3k2r/8/8/8/8/8/8/R3K2R b KQkq - 0 1", "O-O-O", "e8c8");
+        assertResolves("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1", "0-0", "e1g1");
+        assertResolves("4k3/8/8/8/8/8/4r3/R3K3 w Q - 0 1", "O-O-O", null);
+        assertResolves("4k3/8/8/8/8/8/8/4K2R w K - 0 1", "O-O", "e1g1");
+        assertResolves("4k3/8/8/8/8/8/8/4K2R w K - 0 1", "Kf1", "e1f1");
+        assertResolves("4k3/8/8/8/8/8/8/4K2R w K - 0 1", "Kg1", null);
+    }
+
+    /**
+     * assertResolves checks what a SAN move resolves to
+     *
+     * @param fen position in FEN
+     * @param san the move in SAN
+     * @param expected the move in UCI notation, or null if it should not resolve
+     */
+    private static void assertResolves(String fen, String san, String expected) {
+        Board board = new Board();
+        board.setUpBoard(fen);
+        int move = San.resolve(board, san);
+        assertEquals(expected, move == Move.NONE ? null : Move.toUci(move), san + " in " + fen);
+    }
+}
@@ -0,0 +1,65 @@
+package pieces;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * BoardTest checks that taking a move back restores the whole position
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+class BoardTest {
+    /**
+     * unmakeRestoresEveryMove makes and takes back every legal move of a position with castling, en passant and
+     * promotions, checking the FEN and key after each
+     */
+    @Test
+    void unmakeRestoresEveryMove() {
+        Board board = new Board();
+        board.setUpBoard("r3k2r/1P6/8/3pP3/8/8/8/R3K2R w KQkq d6 0 40");
+        String fen = Fen.write(board);
+        long key = board.getKey();
+        MoveList moves = new MoveList();
+        int count = MoveGenerator.generate(board, moves);
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves.get(i));
+            board.unmakeMove();
+            assertEquals(fen, Fen.write(board), Move.toUci(moves.get(i)));
+            assertEquals(key, board.getKey(), Move.toUci(moves.get(i)));
+        }
+    }
+
+    /**
+     * longHalfmoveClockSurvivesUnmake checks a halfmove clock too large for a byte, both after a quiet move and
+     * after a pawn move resets it
+     */
+    @Test
+    void longHalfmoveClockSurvivesUnmake() {
+        Board board = new Board();
+        board.setUpBoard("4k3/8/8/8/8/8/4P3/R3K3 w - - 300 200");
+        board.makeMove(resolve(board, "a1 a2"));
+        assertEquals(301, board.getHalfmoveClock());
+        board.unmakeMove();
+        assertEquals(300, board.getHalfmoveClock());
+
+        board.makeMove(resolve(board, "e2 e4"));
+        assertEquals(0, board.getHalfmoveClock());
+        board.unmakeMove();
+        assertEquals(300, board.getHalfmoveClock());
+    }
+
+    /**
+     * resolve reads a typed move and fills in its flags from the position
+     *
+     * @param board Board object the move is played on
+     * @param text the move, such as "e2 e4"
+     * @return encoded move
+     */
+    private static int resolve(Board board, String text) {
+        int move = Move.parse(text);
+        return board.getPiece(Move.from(move)).resolveMove(board, move);
+    }
+}
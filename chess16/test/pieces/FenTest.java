@@ -0,0 +1,69 @@
+package pieces;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * FenTest checks that positions survive a round trip through FEN and that impossible ones are refused
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+class FenTest {
+    /**
+     * roundTrip checks that writing a loaded position gives back the same FEN
+     */
+    @Test
+    void roundTrip() {
+        assertRoundTrip(Fen.START);
+        assertRoundTrip("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        assertRoundTrip("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3");
+        assertRoundTrip("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+    }
+
+    /**
+     * pawnOnLastRankIsRefused checks a pawn of either color on rank 1 or rank 8
+     */
+    @Test
+    void pawnOnLastRankIsRefused() {
+        assertRefused("P3k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        assertRefused("4k3/8/8/8/8/8/8/p3K3 b - - 0 1");
+        assertRefused("p3k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        assertRefused("4k3/8/8/8/8/8/8/P3K3 w - - 0 1");
+    }
+
+    /**
+     * enPassantNeedsThePawnThatPushed checks en passant squares with no enemy pawn behind them
+     */
+    @Test
+    void enPassantNeedsThePawnThatPushed() {
+        assertRefused("4k3/8/8/4P3/8/8/8/4K3 w - d6 0 1");
+        assertRefused("4k3/8/8/3pP3/8/8/8/4K3 b - e3 0 1");
+        assertRefused("4k3/8/8/3PP3/8/8/8/4K3 w - d6 0 1");
+    }
+
+    /**
+     * assertRoundTrip loads a FEN and checks that it is written back unchanged
+     *
+     * @param fen position in FEN
+     */
+    private static void assertRoundTrip(String fen) {
+        Board board = new Board();
+        Fen.load(board, fen);
+        assertEquals(fen, Fen.write(board));
+    }
+
+    /**
+     * assertRefused checks that a FEN cannot be loaded and leaves the board empty
+     *
+     * @param fen position in FEN
+     */
+    private static void assertRefused(String fen) {
+        Board board = new Board();
+        assertThrows(IllegalArgumentException.class, () -> Fen.load(board, fen), fen);
+        assertEquals(0L, board.getOccupied(), fen);
+    }
+}
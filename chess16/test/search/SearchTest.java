@@ -0,0 +1,82 @@
+package search;
+
+import org.junit.jupiter.api.Test;
+import pieces.Board;
+import pieces.Fen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SearchTest checks how a search answers stop requests and how it scores draws
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+class SearchTest {
+    /**
+     * stoppedSearchStillReturnsAMove checks that a search with no limits ends once stopped, and that a stop sent
+     * before it starts still lets the first iteration finish with a move
+     */
+    @Test
+    void stoppedSearchStillReturnsAMove() {
+        Board board = new Board();
+        board.setUpBoard(Fen.START);
+        Search search = new Search(new TranspositionTable(1));
+        search.prepare();
+        search.stop();
+        SearchResult result = search.search(board, SearchLimits.infinite());
+        assertTrue(result.getDepth() >= 1 && result.getDepth() < Search.MAX_PLY);
+        assertNotEquals(0, result.getBestMove());
+    }
+
+    /**
+     * prepareForgetsAnEarlierStop checks that a stop only lasts until prepare
+     */
+    @Test
+    void prepareForgetsAnEarlierStop() {
+        Board board = new Board();
+        board.setUpBoard(Fen.START);
+        Search search = new Search(new TranspositionTable(1));
+        search.stop();
+        search.prepare();
+        assertEquals(3, search.search(board, SearchLimits.depth(3)).getDepth());
+    }
+
+    /**
+     * searchWithoutPrepareFails checks that a second search without prepare is refused rather than cut short by
+     * the stop that ended the first; helpers may go past the depth limit, so only the least depth is checked
+     */
+    @Test
+    void searchWithoutPrepareFails() {
+        Board board = new Board();
+        board.setUpBoard(Fen.START);
+        ParallelSearch search = new ParallelSearch(new TranspositionTable(1), 2);
+        try {
+            assertTrue(search.search(board, SearchLimits.depth(2)).getDepth() >= 2);
+            assertThrows(IllegalStateException.class, () -> search.search(board, SearchLimits.depth(2)));
+            search.prepare();
+            assertTrue(search.search(board, SearchLimits.depth(2)).getDepth() >= 2);
+        }
+        finally {
+            search.shutdown();
+        }
+    }
+
+    /**
+     * fiftyMoveRuleScoresAsADraw checks that a queen up is worth nothing once every move reaches the fifty-move
+     * limit, and a lot before that
+     */
+    @Test
+    void fiftyMoveRuleScoresAsADraw() {
+        Board board = new Board();
+        board.setUpBoard("7k/8/8/8/8/8/8/KQ6 w - - 99 80");
+        assertEquals(0, new Search(new TranspositionTable(1)).search(board, SearchLimits.depth(3)).getScore());
+
+        board.setUpBoard("7k/8/8/8/8/8/8/KQ6 w - - 0 80");
+        assertTrue(new Search(new TranspositionTable(1)).search(board, SearchLimits.depth(3)).getScore() > 500);
+    }
+}
@@ -0,0 +1,69 @@
+package search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * TranspositionTableTest checks how large a table of each size gets and that entries come back as stored
+ *
+ * @author Prathik Lolla
+ * @author Khush Tated
+ *
+ */
+class TranspositionTableTest {
+    /**
+     * largestSizeFitsInOneArray checks that the largest table still fits in one long[]
+     */
+    @Test
+    void largestSizeFitsInOneArray() {
+        assertEquals(8192, TranspositionTable.MAX_MEGABYTES);
+        assertEquals(1 << 28, TranspositionTable.bucketsFor(TranspositionTable.MAX_MEGABYTES));
+        assertEquals(TranspositionTable.MAX_MEGABYTES, (long) TranspositionTable.bucketsFor(TranspositionTable.MAX_MEGABYTES) * 32 / (1024 * 1024));
+    }
+
+    /**
+     * largerSizesAreCapped checks that sizes past MAX_MEGABYTES, which used to overflow, get the largest table
+     */
+    @Test
+    void largerSizesAreCapped() {
+        assertEquals(1 << 28, TranspositionTable.bucketsFor(16384));
+        assertEquals(1 << 28, TranspositionTable.bucketsFor(65536));
+        assertEquals(1 << 28, TranspositionTable.bucketsFor(Integer.MAX_VALUE));
+    }
+
+    /**
+     * sizesRoundDownToPowersOfTwo checks that a size between powers of two gets the smaller one
+     */
+    @Test
+    void sizesRoundDownToPowersOfTwo() {
+        assertEquals(1, new TranspositionTable(1).getMegabytes());
+        assertEquals(2, new TranspositionTable(3).getMegabytes());
+        assertEquals(64, new TranspositionTable(100).getMegabytes());
+        assertEquals(TranspositionTable.bucketsFor(64), TranspositionTable.bucketsFor(127));
+    }
+
+    /**
+     * sizeBelowOneMegabyteIsRejected checks the constructor's lower bound
+     */
+    @Test
+    void sizeBelowOneMegabyteIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    /**
+     * storedEntryComesBack checks that a probe finds what was stored under the same key
+     */
+    @Test
+    void storedEntryComesBack() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x9D39247E33776D41L;
+        table.store(key, 1234, -57, 6, TranspositionTable.LOWER);
+        long data = table.probe(key);
+        assertEquals(1234, TranspositionTable.move(data));
+        assertEquals(-57, TranspositionTable.score(data));
+        assertEquals(6, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+    }
+}